@@ -0,0 +1,79 @@
+package com.example.football_championship.benchmark;
+
+import com.example.football_championship.DTO.CreateMatchDTO;
+import com.example.football_championship.DTO.CreateTeamDTO;
+import com.example.football_championship.DTO.ProcessingResult;
+import com.example.football_championship.FootballChampionshipApplication;
+import com.example.football_championship.model.Match;
+import com.example.football_championship.service.MatchService;
+import com.example.football_championship.service.TeamService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One addMatch call end to end (validation, scoring, team updates, inserts, audit enqueue)
+ * against the in-memory H2 database of the test profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AddMatchBenchmark {
+
+    private static final int TEAMS = 12;
+
+    @Param({"10", "500"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private MatchService matchService;
+    private List<CreateMatchDTO> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(FootballChampionshipApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("logging.level.root=WARN")
+                .run();
+        matchService = context.getBean(MatchService.class);
+
+        List<CreateTeamDTO> teams = new ArrayList<>(TEAMS);
+        for (int i = 0; i < TEAMS; i++) {
+            CreateTeamDTO team = new CreateTeamDTO();
+            team.setName("Team" + i);
+            team.setRegistrationDate("01/01");
+            team.setGroupNumber(i % 2 + 1);
+            teams.add(team);
+        }
+        context.getBean(TeamService.class).addTeams(teams);
+
+        batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            CreateMatchDTO match = new CreateMatchDTO();
+            match.setTeamA("Team" + i % TEAMS);
+            match.setTeamB("Team" + (i + 1) % TEAMS);
+            match.setTeamAScore(i % 4);
+            match.setTeamBScore(i % 3);
+            batch.add(match);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProcessingResult<Match> addMatch() {
+        return matchService.addMatch(batch);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.football_championship.benchmark;
+
+import com.example.football_championship.DTO.CreateMatchDTO;
+import com.example.football_championship.DTO.TeamView;
+import com.example.football_championship.model.Team;
+import com.example.football_championship.model.TeamSnapshot;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of the addMatches request body and the rankings response, using an
+ * ObjectMapper configured the way Spring MVC builds its own. The rankings response is
+ * written both from entities and from the TeamView projection, in JSON, CBOR and Smile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private ObjectReader matchReader;
+    private ObjectWriter matchWriter;
+    private ObjectWriter teamWriter;
+    private ObjectWriter viewWriter;
+    private ObjectWriter viewCborWriter;
+    private ObjectWriter viewSmileWriter;
+
+    private List<CreateMatchDTO> matches;
+    private byte[] matchesJson;
+    private List<Team> ranking;
+    private List<TeamView> rankingViews;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        matchReader = objectMapper.readerFor(new TypeReference<List<CreateMatchDTO>>() {
+        });
+        matchWriter = objectMapper.writerFor(new TypeReference<List<CreateMatchDTO>>() {
+        });
+        teamWriter = objectMapper.writerFor(new TypeReference<List<Team>>() {
+        });
+        TypeReference<List<TeamView>> viewType = new TypeReference<>() {
+        };
+        viewWriter = objectMapper.writerFor(viewType);
+        viewCborWriter = Jackson2ObjectMapperBuilder.cbor().build().writerFor(viewType);
+        viewSmileWriter = Jackson2ObjectMapperBuilder.smile().build().writerFor(viewType);
+
+        matches = new ArrayList<>(size);
+        ranking = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            CreateMatchDTO match = new CreateMatchDTO();
+            match.setTeamA("Team" + i);
+            match.setTeamB("Team" + (i + 1));
+            match.setTeamAScore(i % 4);
+            match.setTeamBScore(i % 3);
+            matches.add(match);
+
+            Team team = new Team();
+            team.setName("Team" + i);
+            team.setGroupNumber(1);
+            team.setRegistrationDate(LocalDate.of(2024, 1, 1));
+            team.setMatchPoints(size - i);
+            ranking.add(team);
+        }
+        rankingViews = ranking.stream().map(team -> TeamView.of(TeamSnapshot.of(team))).toList();
+        matchesJson = matchWriter.writeValueAsBytes(matches);
+    }
+
+    @Benchmark
+    public List<CreateMatchDTO> readMatches() throws Exception {
+        return matchReader.readValue(matchesJson);
+    }
+
+    @Benchmark
+    public byte[] writeMatches() throws Exception {
+        return matchWriter.writeValueAsBytes(matches);
+    }
+
+    @Benchmark
+    public byte[] writeRanking() throws Exception {
+        return teamWriter.writeValueAsBytes(ranking);
+    }
+
+    @Benchmark
+    public byte[] writeRankingView() throws Exception {
+        return viewWriter.writeValueAsBytes(rankingViews);
+    }
+
+    @Benchmark
+    public byte[] writeRankingViewCbor() throws Exception {
+        return viewCborWriter.writeValueAsBytes(rankingViews);
+    }
+
+    @Benchmark
+    public byte[] writeRankingViewSmile() throws Exception {
+        return viewSmileWriter.writeValueAsBytes(rankingViews);
+    }
+}
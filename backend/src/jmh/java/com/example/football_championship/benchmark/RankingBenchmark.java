@@ -0,0 +1,64 @@
+package com.example.football_championship.benchmark;
+
+import com.example.football_championship.comparator.TeamRankingComparator;
+import com.example.football_championship.comparator.TeamSnapshotRankingComparator;
+import com.example.football_championship.model.Team;
+import com.example.football_championship.model.TeamSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full sort of a group with the ranking comparators, the work the rankings endpoint did per
+ * request before standings were kept in order.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RankingBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int teamCount;
+
+    private List<Team> teams;
+    private List<TeamSnapshot> snapshots;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        teams = new ArrayList<>(teamCount);
+        for (int i = 0; i < teamCount; i++) {
+            Team team = new Team();
+            team.setName("Team" + i);
+            team.setGroupNumber(1);
+            // Narrow ranges so the tie-breakers further down the chain get exercised
+            team.setMatchPoints(random.nextInt(30));
+            team.setTotalGoals(random.nextInt(40));
+            team.setAlternatePoints(random.nextInt(50));
+            team.setRegistrationDate(LocalDate.of(2024, 1, 1).plusDays(random.nextInt(365)));
+            teams.add(team);
+        }
+        snapshots = teams.stream().map(TeamSnapshot::of).toList();
+    }
+
+    @Benchmark
+    public List<Team> sortTeams() {
+        List<Team> sorted = new ArrayList<>(teams);
+        sorted.sort(new TeamRankingComparator());
+        return sorted;
+    }
+
+    @Benchmark
+    public List<TeamSnapshot> sortSnapshots() {
+        List<TeamSnapshot> sorted = new ArrayList<>(snapshots);
+        sorted.sort(new TeamSnapshotRankingComparator());
+        return sorted;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.football_championship.benchmark;
+
+import com.example.football_championship.scoring.PointSystem;
+import com.example.football_championship.utils.ValidationUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-record work done by ingestion: date validation for teams, point calculation for matches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private final PointSystem standard = new PointSystem("STANDARD", 3, 1, 0);
+    private final String[] dates = {"01/01", "15/06", "29/02", "31/12", "7/3"};
+    private final int[][] scores = {{0, 0}, {1, 0}, {0, 3}, {2, 2}, {5, 1}};
+    private final int year = LocalDate.now().getYear();
+
+    @Benchmark
+    public void validateDate(Blackhole blackhole) {
+        for (String date : dates) {
+            blackhole.consume(ValidationUtils.validateDate(date));
+        }
+    }
+
+    @Benchmark
+    public void validateDateWithYear(Blackhole blackhole) {
+        for (String date : dates) {
+            blackhole.consume(ValidationUtils.validateDate(date, year));
+        }
+    }
+
+    @Benchmark
+    public void pointsFor(Blackhole blackhole) {
+        for (int[] score : scores) {
+            blackhole.consume(standard.pointsFor(score[0], score[1]));
+            blackhole.consume(standard.pointsFor(score[1], score[0]));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.football_championship.DTO;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -21,6 +22,10 @@ public class CreateMatchDTO {
     @JsonProperty("teamBGoals")
     private int teamBGoals;
 
+    // Position in a line-based upload, used to point errors back at the input
+    @JsonIgnore
+    private Integer lineNumber;
+
     public String getTeamA() {
         return this.teamAName;
     }
@@ -52,4 +57,12 @@ public class CreateMatchDTO {
     public int setTeamBScore(int teamBGoals) {
         return this.teamBGoals = teamBGoals;
     }
+
+    public Integer getLineNumber() {
+        return lineNumber;
+    }
+
+    public void setLineNumber(Integer lineNumber) {
+        this.lineNumber = lineNumber;
+    }
 }
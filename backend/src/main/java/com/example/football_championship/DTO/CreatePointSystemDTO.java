@@ -0,0 +1,46 @@
+package com.example.football_championship.DTO;
+
+import jakarta.validation.constraints.NotNull;
+
+public class CreatePointSystemDTO {
+
+    @NotNull(message = "Name is required")
+    private String name;
+
+    private int win;
+    private int draw;
+    private int loss;
+
+    // Getters and setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getWin() {
+        return win;
+    }
+
+    public void setWin(int win) {
+        this.win = win;
+    }
+
+    public int getDraw() {
+        return draw;
+    }
+
+    public void setDraw(int draw) {
+        this.draw = draw;
+    }
+
+    public int getLoss() {
+        return loss;
+    }
+
+    public void setLoss(int loss) {
+        this.loss = loss;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.football_championship.DTO;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
@@ -17,6 +18,10 @@ public class CreateTeamDTO {
     @NotNull(message = "Group number is required")
     private Integer groupNumber;
 
+    // Position in a line-based upload, used to point errors back at the input
+    @JsonIgnore
+    private Integer lineNumber;
+
     // Getters and setters
     public String getName() {
         return name;
@@ -41,4 +46,12 @@ public class CreateTeamDTO {
     public void setGroupNumber(Integer groupNumber) {
         this.groupNumber = groupNumber;
     }
+
+    public Integer getLineNumber() {
+        return lineNumber;
+    }
+
+    public void setLineNumber(Integer lineNumber) {
+        this.lineNumber = lineNumber;
+    }
 }
@@ -0,0 +1,10 @@
+package com.example.football_championship.DTO;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is passed back as
+ * {@code after} to fetch the following page and is null on the last page.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+}
@@ -0,0 +1,9 @@
+package com.example.football_championship.DTO;
+
+import java.util.List;
+
+/**
+ * One group's teams in ranking order, and the names of those within the qualification cutoff.
+ */
+public record GroupStandings(int groupNumber, List<TeamView> teams, List<String> qualifiers) {
+}
@@ -0,0 +1,35 @@
+package com.example.football_championship.DTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportResult {
+    private int received;
+    private int inserted;
+    private List<String> errors = new ArrayList<>();
+
+    // Getters and setters for serialization
+    public int getReceived() {
+        return received;
+    }
+
+    public void setReceived(int received) {
+        this.received = received;
+    }
+
+    public int getInserted() {
+        return inserted;
+    }
+
+    public void setInserted(int inserted) {
+        this.inserted = inserted;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.football_championship.DTO;
+
+import com.example.football_championship.model.TeamSnapshot;
+
+/**
+ * A team's new totals and rank, pushed to standings subscribers after a committed change.
+ * A removed team (deleted, renamed away or moved to another group) has null totals and rank.
+ */
+public record StandingsDelta(String team, int groupNumber, Integer matchPoints, Integer totalGoals,
+                             Integer alternatePoints, Integer matchesPlayed, Integer rank) {
+
+    public static StandingsDelta of(TeamSnapshot team, int rank) {
+        return new StandingsDelta(team.name(), team.groupNumber(), team.matchPoints(), team.totalGoals(),
+                team.alternatePoints(), team.matchesPlayed(), rank);
+    }
+
+    public static StandingsDelta removed(String team, int groupNumber) {
+        return new StandingsDelta(team, groupNumber, null, null, null, null, null);
+    }
+
+    public boolean isRemoved() {
+        return rank == null;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.football_championship.DTO;
+
+/**
+ * Where a team stands in its group: its one-based rank and whether that is within the
+ * qualification cutoff.
+ */
+public record TeamStanding(String teamName, int groupNumber, int rank, boolean qualified) {
+}
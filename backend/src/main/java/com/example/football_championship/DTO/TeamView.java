@@ -0,0 +1,32 @@
+package com.example.football_championship.DTO;
+
+import com.example.football_championship.model.TeamSnapshot;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDate;
+
+/**
+ * Read model returned by the team and ranking endpoints, in the same JSON shape the
+ * {@code Team} entity used to be serialized with. Built from snapshots, never from
+ * managed entities.
+ */
+public record TeamView(Long id,
+                       String name,
+                       LocalDate registrationDate,
+                       int groupNumber,
+                       int totalGoals,
+                       int matchPoints,
+                       int alternatePoints,
+                       int matchesPlayed) {
+
+    public static TeamView of(TeamSnapshot team) {
+        return new TeamView(team.id(), team.name(), team.registrationDate(), team.groupNumber(),
+                team.totalGoals(), team.matchPoints(), team.alternatePoints(), team.matchesPlayed());
+    }
+
+    // Kept for existing clients, Team exposed it through getTotalMatchPoints()
+    @JsonProperty("totalMatchPoints")
+    public int totalMatchPoints() {
+        return matchPoints;
+    }
+}
@@ -3,11 +3,16 @@ package com.example.football_championship.audit;
 import jakarta.persistence.*;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @Entity
+@Table(name = "audit_log", indexes = {
+        @Index(name = "ix_audit_log_timestamp_id", columnList = "timestamp, id"),
+        @Index(name = "ix_audit_log_entity_action", columnList = "entityName, action, timestamp")})
 public class AuditLog {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_log_seq")
+    @SequenceGenerator(name = "audit_log_seq", sequenceName = "audit_log_seq", allocationSize = 50)
     private Long id;
 
     private String action;
@@ -15,10 +20,36 @@ public class AuditLog {
     @Column(name = "details", columnDefinition = "TEXT") // Increase the length to 1024 or higher
     private String details;
     private String performedBy="Admin";
+    // Partition key of the audit table on PostgreSQL
+    @Column(nullable = false)
     private LocalDateTime timestamp;
 
     // Getters and Setters
 
+    public Long getId() {
+        return id;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+
+    public String getDetails() {
+        return details;
+    }
+
+    public String getPerformedBy() {
+        return performedBy;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
     public void setAction(String action) {
         this.action = action;
     }
@@ -31,7 +62,12 @@ public class AuditLog {
         this.details = details;
     }
 
+    public void setPerformedBy(String performedBy) {
+        this.performedBy = performedBy;
+    }
+
     public void setTimestamp(LocalDateTime dateTime) {
-        this.timestamp = dateTime;
+        // Same precision as the column, so a timestamp read back compares equal in paging cursors
+        this.timestamp = dateTime != null ? dateTime.truncatedTo(ChronoUnit.MICROS) : null;
     }
 }
@@ -0,0 +1,238 @@
+package com.example.football_championship.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Buffers audit records in a bounded queue and writes them from a background thread
+ * in batches to the configured {@link AuditSink}, so callers never wait on the audit table inside
+ * their own transaction.
+ * A batch is flushed once it reaches the batch size or the flush interval has passed.
+ * Records enqueued inside a transaction are held back until it commits, a rollback discards them.
+ */
+@Component
+public class AuditLogWriter {
+
+    public enum OverflowPolicy {
+        BLOCK,
+        DROP,
+        SAMPLE
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogWriter.class);
+    private static final long POLL_SLICE_MS = 100;
+
+    private final AuditSink auditSink;
+    private final BlockingQueue<AuditLog> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final OverflowPolicy overflowPolicy;
+    private final int sampleRate;
+    private final long blockTimeoutMs;
+    private final boolean virtualThread;
+
+    private final AtomicLong overflowCount = new AtomicLong();
+    private final Timer flushTimer;
+    private final Counter droppedCounter;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public AuditLogWriter(AuditSink auditSink,
+                          MeterRegistry meterRegistry,
+                          @Value("${championship.audit.capacity:10000}") int capacity,
+                          @Value("${championship.audit.batch-size:500}") int batchSize,
+                          @Value("${championship.audit.flush-interval-ms:1000}") long flushIntervalMs,
+                          @Value("${championship.audit.overflow-policy:BLOCK}") OverflowPolicy overflowPolicy,
+                          @Value("${championship.audit.sample-rate:10}") int sampleRate,
+                          @Value("${championship.audit.block-timeout-ms:1000}") long blockTimeoutMs,
+                          @Value("${spring.threads.virtual.enabled:false}") boolean virtualThread) {
+        this.auditSink = auditSink;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = Math.max(sampleRate, 1);
+        this.blockTimeoutMs = blockTimeoutMs;
+        this.virtualThread = virtualThread;
+
+        Gauge.builder("championship.audit.queue.depth", queue, BlockingQueue::size)
+                .description("Audit records waiting to be written")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("championship.audit.flush")
+                .description("Time taken to write one batch of audit records")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("championship.audit.dropped")
+                .description("Audit records discarded because the queue was full")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        // Follows the application's threading mode, the worker spends most of its time blocked on JDBC
+        Thread.Builder builder = virtualThread ? Thread.ofVirtual() : Thread.ofPlatform().daemon(true);
+        worker = builder.name("audit-log-writer").start(this::drainLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // Let the worker empty the queue before the sink goes away
+        running = false;
+        if (worker != null) {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    public void enqueue(AuditLog auditLog) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingInTransaction().add(auditLog);
+            return;
+        }
+        offer(auditLog, false);
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Records of the current transaction, handed to the queue once it commits.
+     * One list and one synchronization per transaction, however many records it audits.
+     */
+    @SuppressWarnings("unchecked")
+    private List<AuditLog> pendingInTransaction() {
+        List<AuditLog> pending = (List<AuditLog>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+
+        List<AuditLog> created = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // The pooled connection is only returned after this callback, so BLOCK waits are bounded here
+                created.forEach(auditLog -> offer(auditLog, true));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(AuditLogWriter.this);
+            }
+        });
+        return created;
+    }
+
+    private void offer(AuditLog auditLog, boolean holdingConnection) {
+        if (queue.offer(auditLog)) {
+            return;
+        }
+
+        switch (overflowPolicy) {
+            case BLOCK:
+                put(auditLog, holdingConnection);
+                break;
+            case SAMPLE:
+                if (overflowCount.incrementAndGet() % sampleRate == 0) {
+                    put(auditLog, holdingConnection);
+                } else {
+                    droppedCounter.increment();
+                }
+                break;
+            default:
+                droppedCounter.increment();
+        }
+    }
+
+    private void put(AuditLog auditLog, boolean holdingConnection) {
+        if (holdingConnection) {
+            putWithTimeout(auditLog);
+        } else {
+            putUninterruptibly(auditLog);
+        }
+    }
+
+    private void putUninterruptibly(AuditLog auditLog) {
+        try {
+            queue.put(auditLog);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            droppedCounter.increment();
+        }
+    }
+
+    private void putWithTimeout(AuditLog auditLog) {
+        try {
+            if (!queue.offer(auditLog, blockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                droppedCounter.increment();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            droppedCounter.increment();
+        }
+    }
+
+    private void drainLoop() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                // Short polls so a shutdown is noticed without waiting out the flush interval
+                AuditLog first = queue.poll(POLL_SLICE_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Keep collecting until the batch is full or the flush interval is over
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize && running) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    AuditLog next = queue.poll(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(POLL_SLICE_MS)), TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+                queue.drainTo(batch, batchSize - batch.size());
+            } catch (InterruptedException e) {
+                running = false;
+            }
+            flush(batch);
+        }
+    }
+
+    private void flush(List<AuditLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            flushTimer.record(() -> auditSink.write(batch));
+        } catch (RuntimeException e) {
+            log.error("Failed to write {} audit records", batch.size(), e);
+        } finally {
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.football_championship.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Looks after the monthly partitions of the audit table on PostgreSQL. Partitions for the
+ * coming months are created ahead of time, and partitions older than the retention period
+ * are dropped whole, so expiring audit records costs no DELETE scan and leaves nothing for
+ * vacuum. Does nothing on other databases or while the table is not partitioned.
+ * Rows that landed in the default partition are moved into their month's partition when it
+ * is created, and expire from the default partition after the same retention period.
+ */
+@Component
+public class AuditPartitionMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditPartitionMaintenance.class);
+    private static final String PARTITION_PREFIX = "audit_log_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public AuditPartitionMaintenance(JdbcTemplate jdbcTemplate,
+                                     TransactionTemplate transactionTemplate,
+                                     @Value("${championship.audit.partition-months-ahead:3}") int monthsAhead,
+                                     @Value("${championship.audit.retention-months:12}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${championship.audit.partition-cron:0 0 1 * * *}")
+    public void maintain() {
+        if (!isPartitioned()) {
+            return;
+        }
+
+        YearMonth current = YearMonth.now();
+        List<String> partitions = listPartitions();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            if (!partitions.contains(partitionName(month))) {
+                createPartition(month);
+            }
+        }
+        // Zero or less keeps audit records forever
+        if (retentionMonths > 0) {
+            YearMonth oldestKept = current.minusMonths(retentionMonths);
+            for (String partition : expiredPartitions(partitions, oldestKept)) {
+                jdbcTemplate.execute("drop table if exists " + partition);
+                log.info("Dropped audit partition {}", partition);
+            }
+            // Only rows that missed every monthly partition end up here, so this scan stays small
+            int purged = jdbcTemplate.update("delete from audit_log_default where timestamp < ?", oldestKept.atDay(1).atStartOfDay());
+            if (purged > 0) {
+                log.info("Deleted {} expired audit records from the default partition", purged);
+            }
+        }
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    /**
+     * Monthly partitions that end before the oldest month to keep. The default partition and
+     * anything not named by {@link #partitionName} are never returned.
+     */
+    static List<String> expiredPartitions(List<String> partitions, YearMonth oldestKept) {
+        List<String> expired = new ArrayList<>();
+        for (String partition : partitions) {
+            if (!partition.startsWith(PARTITION_PREFIX)) {
+                continue;
+            }
+            try {
+                YearMonth month = YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+                if (month.isBefore(oldestKept)) {
+                    expired.add(partition);
+                }
+            } catch (DateTimeParseException e) {
+                // Not one of ours
+            }
+        }
+        return expired;
+    }
+
+    private void createPartition(YearMonth month) {
+        String partition = partitionName(month);
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        String create = String.format("create table if not exists %s partition of audit_log for values from ('%s') to ('%s')",
+                partition, from.toLocalDate(), to.toLocalDate());
+        try {
+            Integer stranded = jdbcTemplate.queryForObject("select count(*) from audit_log_default where timestamp >= ? and timestamp < ?",
+                    Integer.class, from, to);
+            if (stranded == null || stranded == 0) {
+                jdbcTemplate.execute(create);
+                return;
+            }
+
+            // PostgreSQL refuses the new partition while the default one holds rows in its range. Detaching
+            // locks audit_log until commit, so writers wait instead of failing while the rows move
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.execute("alter table audit_log detach partition audit_log_default");
+                jdbcTemplate.execute(create);
+                jdbcTemplate.update("insert into audit_log (id, timestamp, action, details, entity_name, performed_by) "
+                        + "select id, timestamp, action, details, entity_name, performed_by from audit_log_default "
+                        + "where timestamp >= ? and timestamp < ?", from, to);
+                jdbcTemplate.update("delete from audit_log_default where timestamp >= ? and timestamp < ?", from, to);
+                jdbcTemplate.execute("alter table audit_log attach partition audit_log_default default");
+            });
+            log.info("Moved {} audit records from the default partition into {}", stranded, partition);
+        } catch (DataAccessException e) {
+            // Retried on the next run, the month keeps landing in the default partition until then
+            log.error("Could not create audit partition {}", partition, e);
+        }
+    }
+
+    private List<String> listPartitions() {
+        return jdbcTemplate.queryForList("select c.relname from pg_inherits i "
+                + "join pg_class c on c.oid = i.inhrelid join pg_class p on p.oid = i.inhparent "
+                + "where p.relname = 'audit_log'", String.class);
+    }
+
+    private boolean isPartitioned() {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                    DatabaseMetaData::getDatabaseProductName);
+            if (!"PostgreSQL".equalsIgnoreCase(product)) {
+                return false;
+            }
+        } catch (MetaDataAccessException e) {
+            return false;
+        }
+        Integer partitioned = jdbcTemplate.queryForObject("select count(*) from pg_partitioned_table pt "
+                + "join pg_class c on c.oid = pt.partrelid where c.relname = 'audit_log'", Integer.class);
+        return partitioned != null && partitioned > 0;
+    }
+}
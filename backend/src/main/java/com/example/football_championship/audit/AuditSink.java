@@ -0,0 +1,12 @@
+package com.example.football_championship.audit;
+
+import java.util.List;
+
+/**
+ * Destination for batches of audit records drained by {@link AuditLogWriter}. Selected with
+ * {@code championship.audit.sink}: {@code database} (default) or {@code segment}.
+ */
+public interface AuditSink {
+
+    void write(List<AuditLog> batch);
+}
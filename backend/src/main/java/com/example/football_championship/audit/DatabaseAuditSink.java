@@ -0,0 +1,26 @@
+package com.example.football_championship.audit;
+
+import com.example.football_championship.repository.AuditLogRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Writes audit records to the audit_log table, where the audit query API reads them.
+ */
+@Component
+@ConditionalOnProperty(name = "championship.audit.sink", havingValue = "database", matchIfMissing = true)
+public class DatabaseAuditSink implements AuditSink {
+
+    private final AuditLogRepository auditLogRepository;
+
+    public DatabaseAuditSink(AuditLogRepository auditLogRepository) {
+        this.auditLogRepository = auditLogRepository;
+    }
+
+    @Override
+    public void write(List<AuditLog> batch) {
+        auditLogRepository.saveAll(batch);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.football_championship.audit;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Writes audit records to memory-mapped segment files instead of the database. Records are
+ * not visible to the audit query API; read them with {@link SegmentLogReader}.
+ */
+@Component
+@ConditionalOnProperty(name = "championship.audit.sink", havingValue = "segment")
+public class SegmentAuditSink implements AuditSink {
+
+    private static final Logger log = LoggerFactory.getLogger(SegmentAuditSink.class);
+
+    private final SegmentLog segmentLog;
+
+    public SegmentAuditSink(@Value("${championship.audit.segment.directory:audit-segments}") Path directory,
+                            @Value("${championship.audit.segment.size-bytes:67108864}") int segmentSize,
+                            @Value("${championship.audit.segment.max-segments:0}") int maxSegments) {
+        this.segmentLog = new SegmentLog(directory, segmentSize, maxSegments);
+    }
+
+    @Override
+    public void write(List<AuditLog> batch) {
+        for (AuditLog auditLog : batch) {
+            try {
+                segmentLog.append(auditLog);
+            } catch (IllegalArgumentException e) {
+                log.error("Skipping audit record for {}: {}", auditLog.getEntityName(), e.getMessage());
+            }
+        }
+        // One flush per batch rather than per record
+        segmentLog.force();
+    }
+
+    @PreDestroy
+    public void close() {
+        segmentLog.close();
+    }
+}
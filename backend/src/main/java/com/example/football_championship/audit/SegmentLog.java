@@ -0,0 +1,310 @@
+package com.example.football_championship.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of audit records in fixed-size, memory-mapped segment files. Each record is
+ * {@code [length][crc32c][payload]} and is followed by a zero length marking the end of the log,
+ * so a record torn by a crash fails its checksum and is cut off when the log is reopened.
+ * The segment header keeps the oldest and newest timestamp written to it, so a reader can skip
+ * segments outside the range it is asked for (see {@link SegmentLogReader}).
+ */
+public class SegmentLog implements AutoCloseable {
+
+    static final int MAGIC = 0x41554431; // "AUD1"
+    static final int MIN_TIMESTAMP_OFFSET = 8;
+    static final int MAX_TIMESTAMP_OFFSET = 16;
+    static final int HEADER_SIZE = 24;
+    static final int RECORD_HEADER_SIZE = 8;
+    static final String SUFFIX = ".seg";
+
+    private static final Logger log = LoggerFactory.getLogger(SegmentLog.class);
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+
+    private long segmentIndex;
+    private MappedByteBuffer buffer;
+
+    public SegmentLog(Path directory, int segmentSize, int maxSegments) {
+        if (segmentSize < HEADER_SIZE + RECORD_HEADER_SIZE + 64) {
+            throw new IllegalArgumentException("Segment size " + segmentSize + " is too small");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        try {
+            Files.createDirectories(directory);
+            List<Path> segments = segments(directory);
+            segmentIndex = segments.isEmpty() ? 0 : indexOf(segments.get(segments.size() - 1));
+            buffer = open(segmentIndex);
+            recoverTail();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open audit segments in " + directory, e);
+        }
+    }
+
+    /**
+     * Appends a record, rolling over to a new segment when the current one is full.
+     * Throws if the record could never fit in a segment.
+     */
+    public synchronized void append(AuditLog auditLog) {
+        byte[] payload = encode(auditLog);
+        int needed = RECORD_HEADER_SIZE + payload.length + Integer.BYTES;
+        if (needed > segmentSize - HEADER_SIZE) {
+            throw new IllegalArgumentException("Audit record of " + payload.length + " bytes does not fit in a segment");
+        }
+        if (needed > buffer.remaining()) {
+            rotate();
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        buffer.putInt(payload.length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(payload);
+        // End marker, overwritten by the next record
+        buffer.putInt(buffer.position(), 0);
+        widenTimeRange(buffer, toMicros(auditLog.getTimestamp()));
+    }
+
+    /**
+     * Flushes appended records to the file, so they survive a crash of the whole machine
+     * and not only of the process.
+     */
+    public synchronized void force() {
+        buffer.force();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public synchronized long getSegmentIndex() {
+        return segmentIndex;
+    }
+
+    @Override
+    public synchronized void close() {
+        buffer.force();
+    }
+
+    private void rotate() {
+        buffer.force();
+        segmentIndex++;
+        try {
+            buffer = open(segmentIndex);
+            deleteExpiredSegments();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot roll over audit segment " + segmentIndex, e);
+        }
+    }
+
+    private MappedByteBuffer open(long index) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(directory, index),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed; a new file is zero-filled to the full size.
+            // An existing segment keeps its own size if the setting has changed since it was created
+            long size = channel.size() > 0 ? channel.size() : segmentSize;
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            int magic = mapped.getInt(0);
+            if (magic == 0) {
+                mapped.putInt(0, MAGIC);
+                mapped.putInt(Integer.BYTES, (int) size);
+                resetTimeRange(mapped);
+            } else if (magic != MAGIC) {
+                throw new IOException("Not an audit segment: " + segmentPath(directory, index));
+            }
+            mapped.position(HEADER_SIZE);
+            return mapped;
+        }
+    }
+
+    private void recoverTail() {
+        int end = scanEnd(buffer, HEADER_SIZE);
+        if (end + Integer.BYTES <= buffer.capacity() && buffer.getInt(end) != 0) {
+            log.warn("Discarding torn audit record at offset {} of segment {}", end, segmentIndex);
+            // Zero the whole torn region, a shorter record appended later must not expose its leftovers
+            int tornLength = buffer.getInt(end);
+            int limit = tornLength > 0 ? Math.min(buffer.capacity(), end + RECORD_HEADER_SIZE + tornLength) : end + Integer.BYTES;
+            for (int i = end; i < limit; i++) {
+                buffer.put(i, (byte) 0);
+            }
+            buffer.force();
+        }
+        buffer.position(end);
+
+        // The header is written after each record, so rebuild it from the records that survived
+        resetTimeRange(buffer);
+        for (int position = HEADER_SIZE; position < end; position = next(buffer, position)) {
+            widenTimeRange(buffer, timestampOf(buffer, position));
+        }
+    }
+
+    private void deleteExpiredSegments() throws IOException {
+        if (maxSegments <= 0) {
+            return;
+        }
+        List<Path> segments = segments(directory);
+        for (int i = 0; i < segments.size() - maxSegments; i++) {
+            Files.deleteIfExists(segments.get(i));
+            log.info("Deleted audit segment {}", segments.get(i).getFileName());
+        }
+    }
+
+    /**
+     * Offset just past the last intact record of a segment, starting the scan at {@code offset}.
+     */
+    static int scanEnd(ByteBuffer segment, int offset) {
+        int position = offset;
+        while ((position = next(segment, position)) > 0) {
+            offset = position;
+        }
+        return offset;
+    }
+
+    /**
+     * Offset of the record following the one at {@code position}, or -1 if there is no intact record there.
+     */
+    static int next(ByteBuffer segment, int position) {
+        if (position + RECORD_HEADER_SIZE > segment.capacity()) {
+            return -1;
+        }
+        int length = segment.getInt(position);
+        if (length <= 0 || length > segment.capacity() - position - RECORD_HEADER_SIZE) {
+            return -1;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(segment.slice(position + RECORD_HEADER_SIZE, length));
+        if ((int) crc.getValue() != segment.getInt(position + Integer.BYTES)) {
+            return -1;
+        }
+        return position + RECORD_HEADER_SIZE + length;
+    }
+
+    static long minTimestamp(ByteBuffer segment) {
+        return segment.getLong(MIN_TIMESTAMP_OFFSET);
+    }
+
+    static long maxTimestamp(ByteBuffer segment) {
+        return segment.getLong(MAX_TIMESTAMP_OFFSET);
+    }
+
+    private static void resetTimeRange(ByteBuffer segment) {
+        segment.putLong(MIN_TIMESTAMP_OFFSET, Long.MAX_VALUE);
+        segment.putLong(MAX_TIMESTAMP_OFFSET, Long.MIN_VALUE);
+    }
+
+    private static void widenTimeRange(ByteBuffer segment, long micros) {
+        if (micros < minTimestamp(segment)) {
+            segment.putLong(MIN_TIMESTAMP_OFFSET, micros);
+        }
+        if (micros > maxTimestamp(segment)) {
+            segment.putLong(MAX_TIMESTAMP_OFFSET, micros);
+        }
+    }
+
+    static long timestampOf(ByteBuffer segment, int position) {
+        return segment.getLong(position + RECORD_HEADER_SIZE);
+    }
+
+    static AuditLog decode(ByteBuffer segment, int position) {
+        ByteBuffer payload = segment.slice(position + RECORD_HEADER_SIZE, segment.getInt(position));
+        AuditLog auditLog = new AuditLog();
+        auditLog.setTimestamp(fromMicros(payload.getLong()));
+        auditLog.setAction(getString(payload));
+        auditLog.setEntityName(getString(payload));
+        auditLog.setPerformedBy(getString(payload));
+        auditLog.setDetails(getString(payload));
+        return auditLog;
+    }
+
+    static byte[] encode(AuditLog auditLog) {
+        byte[][] fields = {
+                bytes(auditLog.getAction()),
+                bytes(auditLog.getEntityName()),
+                bytes(auditLog.getPerformedBy()),
+                bytes(auditLog.getDetails())};
+        int size = Long.BYTES;
+        for (byte[] field : fields) {
+            size += Integer.BYTES + (field != null ? field.length : 0);
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(size);
+        payload.putLong(toMicros(auditLog.getTimestamp()));
+        for (byte[] field : fields) {
+            if (field == null) {
+                payload.putInt(-1);
+            } else {
+                payload.putInt(field.length);
+                payload.put(field);
+            }
+        }
+        return payload.array();
+    }
+
+    static long toMicros(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return Long.MIN_VALUE;
+        }
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), timestamp);
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        if (micros == Long.MIN_VALUE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC).plus(micros, ChronoUnit.MICROS);
+    }
+
+    static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            // Zero-padded names, so name order is segment order
+            return files.filter(path -> path.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+    }
+
+    static Path segmentPath(Path directory, long index) {
+        return directory.resolve(String.format("audit-%019d%s", index, SUFFIX));
+    }
+
+    private static long indexOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring("audit-".length(), name.length() - SUFFIX.length()));
+    }
+
+    private static byte[] bytes(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static String getString(ByteBuffer payload) {
+        int length = payload.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        payload.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.football_championship.audit;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Reads audit records back from the segment files written by {@link SegmentLog}, oldest segment
+ * first. Segments whose header time range lies outside the requested range are not scanned.
+ * Safe to run while the log is being appended to, a record still being written is not returned.
+ * <p>
+ * Can also be run on its own: {@code SegmentLogReader <directory> [from] [to]}, with ISO timestamps.
+ */
+public final class SegmentLogReader {
+
+    private SegmentLogReader() {
+    }
+
+    /**
+     * Passes every record with {@code from <= timestamp < to} to the consumer and returns how many there were.
+     * Either bound may be null.
+     */
+    public static long read(Path directory, LocalDateTime from, LocalDateTime to, Consumer<AuditLog> consumer) throws IOException {
+        long fromMicros = from != null ? SegmentLog.toMicros(from) : Long.MIN_VALUE;
+        long toMicros = to != null ? SegmentLog.toMicros(to) : Long.MAX_VALUE;
+        long count = 0;
+
+        for (Path path : SegmentLog.segments(directory)) {
+            MappedByteBuffer segment;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            if (segment.capacity() < SegmentLog.HEADER_SIZE || segment.getInt(0) != SegmentLog.MAGIC
+                    || SegmentLog.maxTimestamp(segment) < fromMicros || SegmentLog.minTimestamp(segment) >= toMicros) {
+                continue;
+            }
+
+            int position = SegmentLog.HEADER_SIZE;
+            int next;
+            while ((next = SegmentLog.next(segment, position)) > 0) {
+                // Only decode the records inside the range
+                long timestamp = SegmentLog.timestampOf(segment, position);
+                if (timestamp >= fromMicros && timestamp < toMicros) {
+                    consumer.accept(SegmentLog.decode(segment, position));
+                    count++;
+                }
+                position = next;
+            }
+        }
+        return count;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: SegmentLogReader <directory> [from] [to]");
+            System.exit(1);
+        }
+        LocalDateTime from = args.length > 1 ? LocalDateTime.parse(args[1]) : null;
+        LocalDateTime to = args.length > 2 ? LocalDateTime.parse(args[2]) : null;
+        read(Path.of(args[0]), from, to, auditLog -> System.out.println(String.join("\t",
+                String.valueOf(auditLog.getTimestamp()), auditLog.getAction(), auditLog.getEntityName(),
+                auditLog.getPerformedBy(), String.valueOf(auditLog.getDetails()))));
+    }
+}
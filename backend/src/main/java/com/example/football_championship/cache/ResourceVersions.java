@@ -0,0 +1,82 @@
+package com.example.football_championship.cache;
+
+import com.example.football_championship.event.TeamChangedEvent;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version counters for each group's standings and each team, bumped after every
+ * committed team change. GET endpoints turn them into strong ETags so an unchanged resource
+ * can be answered with 304 before any query runs.
+ */
+@Component
+public class ResourceVersions {
+
+    // Counters restart at zero with the application, the epoch keeps old ETags from matching
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final ConcurrentMap<Integer, AtomicLong> groupVersions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> teamVersions = new ConcurrentHashMap<>();
+    // Bumped on every change, for resources spanning all groups
+    private final AtomicLong tournamentVersion = new AtomicLong();
+
+    public long getGroupVersion(int groupNumber) {
+        AtomicLong version = groupVersions.get(groupNumber);
+        return version == null ? 0 : version.get();
+    }
+
+    public long getTeamVersion(String name) {
+        AtomicLong version = teamVersions.get(name);
+        return version == null ? 0 : version.get();
+    }
+
+    public long getTournamentVersion() {
+        return tournamentVersion.get();
+    }
+
+    public String groupETag(int groupNumber) {
+        return eTag("g" + groupNumber, getGroupVersion(groupNumber));
+    }
+
+    public String teamETag(String name) {
+        return eTag("t", getTeamVersion(name));
+    }
+
+    public String tournamentETag() {
+        return eTag("all", getTournamentVersion());
+    }
+
+    // After the standings and the team cache: a client handed the new ETag must also get the new data
+    @Order(2)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamChanged(TeamChangedEvent event) {
+        tournamentVersion.incrementAndGet();
+        if (event.previousName() != null) {
+            bump(teamVersions, event.previousName());
+        }
+        if (event.previousGroupNumber() != null) {
+            bump(groupVersions, event.previousGroupNumber());
+        }
+        if (event.current() != null) {
+            if (!event.current().name().equals(event.previousName())) {
+                bump(teamVersions, event.current().name());
+            }
+            if (!Integer.valueOf(event.current().groupNumber()).equals(event.previousGroupNumber())) {
+                bump(groupVersions, event.current().groupNumber());
+            }
+        }
+    }
+
+    private String eTag(String resource, long version) {
+        return "\"" + resource + "-" + epoch + "-" + version + "\"";
+    }
+
+    private static <K> void bump(ConcurrentMap<K, AtomicLong> versions, K key) {
+        versions.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+    }
+}
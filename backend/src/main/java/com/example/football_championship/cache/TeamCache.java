@@ -0,0 +1,150 @@
+package com.example.football_championship.cache;
+
+import com.example.football_championship.event.TeamChangedEvent;
+import com.example.football_championship.model.TeamSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Read-through cache of team snapshots keyed by name, bounded by size (least recently used
+ * entries go first) and by age. Entries are immutable snapshots, never managed entities.
+ * Committed team changes replace or drop the cached entry, see {@link #onTeamChanged}.
+ * Changes can be delivered out of order, so a cached entry is only replaced by a newer version.
+ */
+@Component
+public class TeamCache {
+
+    private record Entry(TeamSnapshot team, long loadedAt) {
+    }
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // Bumped on every change, a load that started before a change must not be cached
+    private long generation;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expiredEvictions;
+
+    @Autowired
+    public TeamCache(MeterRegistry meterRegistry,
+                     @Value("${championship.team-cache.max-size:1000}") int maxSize,
+                     @Value("${championship.team-cache.ttl-ms:300000}") long ttlMs) {
+        this(meterRegistry, maxSize, ttlMs, System::nanoTime);
+    }
+
+    TeamCache(MeterRegistry meterRegistry, int maxSize, long ttlMs, LongSupplier clock) {
+        this.maxSize = Math.max(maxSize, 1);
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.clock = clock;
+
+        Gauge.builder("championship.team.cache.size", this, TeamCache::size)
+                .description("Teams currently cached")
+                .register(meterRegistry);
+        this.hits = Counter.builder("championship.team.cache.hits")
+                .description("Team lookups served from the cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("championship.team.cache.misses")
+                .description("Team lookups that went to the database")
+                .register(meterRegistry);
+        this.sizeEvictions = Counter.builder("championship.team.cache.evictions")
+                .tag("cause", "size")
+                .description("Teams removed from the cache")
+                .register(meterRegistry);
+        this.expiredEvictions = Counter.builder("championship.team.cache.evictions")
+                .tag("cause", "expired")
+                .description("Teams removed from the cache")
+                .register(meterRegistry);
+    }
+
+    public Optional<TeamSnapshot> get(String name, Function<String, Optional<TeamSnapshot>> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(name);
+            if (entry != null) {
+                if (clock.getAsLong() - entry.loadedAt() < ttlNanos) {
+                    hits.increment();
+                    return Optional.of(entry.team());
+                }
+                entries.remove(name);
+                expiredEvictions.increment();
+            }
+            misses.increment();
+            loadGeneration = generation;
+        }
+
+        // Load outside the lock so a slow query does not hold up other lookups
+        Optional<TeamSnapshot> loaded = loader.apply(name);
+        if (loaded.isPresent()) {
+            synchronized (this) {
+                if (loadGeneration == generation) {
+                    put(loaded.get());
+                }
+            }
+        }
+        return loaded;
+    }
+
+    // After the standings, before ResourceVersions bumps the ETags
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTeamChanged(TeamChangedEvent event) {
+        generation++;
+        TeamSnapshot current = event.current();
+        Entry cached = current != null ? entries.get(current.name()) : null;
+        if (event.previousName() != null && (current == null || !event.previousName().equals(current.name()))) {
+            entries.remove(event.previousName());
+        }
+        // A new team goes straight in; other changes only refresh what is cached, an uncached
+        // team is loaded on its next lookup because a late event cannot be told apart here
+        if (current != null && (event.previousName() == null || cached != null && isNewer(current, cached.team()))) {
+            // The event carries the committed state, so it can replace the entry directly
+            put(current);
+        }
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static boolean isNewer(TeamSnapshot candidate, TeamSnapshot cached) {
+        if (candidate.id() == null || !candidate.id().equals(cached.id())) {
+            return true;
+        }
+        return candidate.version() > cached.version();
+    }
+
+    private void put(TeamSnapshot team) {
+        entries.put(team.name(), new Entry(team, clock.getAsLong()));
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxSize && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            sizeEvictions.increment();
+        }
+    }
+}
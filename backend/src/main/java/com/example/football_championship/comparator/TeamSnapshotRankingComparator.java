@@ -0,0 +1,39 @@
+package com.example.football_championship.comparator;
+
+import com.example.football_championship.model.TeamSnapshot;
+
+import java.util.Comparator;
+
+public class TeamSnapshotRankingComparator implements Comparator<TeamSnapshot> {
+
+    @Override
+    public int compare(TeamSnapshot team1, TeamSnapshot team2) {
+        // 1. Compare total match points (primary points)
+        if (team1.matchPoints() != team2.matchPoints()) {
+            return Integer.compare(team2.matchPoints(), team1.matchPoints());
+        }
+
+        // 2. Compare total goals scored
+        if (team1.totalGoals() != team2.totalGoals()) {
+            return Integer.compare(team2.totalGoals(), team1.totalGoals());
+        }
+
+        // 3. Compare alternate match points (secondary points)
+        if (team1.alternatePoints() != team2.alternatePoints()) {
+            return Integer.compare(team2.alternatePoints(), team1.alternatePoints());
+        }
+
+        // 4. Compare by registration date (earliest date wins)
+        if (team1.registrationDate() != null && team2.registrationDate() != null) {
+            int byDate = team1.registrationDate().compareTo(team2.registrationDate());
+            if (byDate != 0) {
+                return byDate;
+            }
+        } else if (team1.registrationDate() != team2.registrationDate()) {
+            return team1.registrationDate() == null ? 1 : -1;
+        }
+
+        // 5. Names are unique, so this keeps distinct teams from ever comparing equal
+        return team1.name().compareTo(team2.name());
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.football_championship.config;
+
+import com.example.football_championship.scoring.PointSystemProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PointSystemProperties.class)
+public class ScoringConfig {
+}
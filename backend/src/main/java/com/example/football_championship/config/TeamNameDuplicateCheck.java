@@ -0,0 +1,67 @@
+package com.example.football_championship.config;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs before migration V2, which adds the unique index on team names. Databases created by
+ * the old ddl-auto=update schema can hold the same name twice; rather than picking which
+ * duplicate to delete (matches refer to teams by name), the migration stops with a message
+ * listing the names to rename or merge by hand.
+ */
+@Component
+public class TeamNameDuplicateCheck implements Callback {
+
+    static final MigrationVersion UNIQUE_NAME_VERSION = MigrationVersion.fromVersion("2");
+
+    private static final int MAX_LISTED = 20;
+    private static final String DUPLICATES = "select name, count(*) as copies from t_team_entity "
+            + "group by name having count(*) > 1 order by name";
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.BEFORE_EACH_MIGRATE && context.getMigrationInfo() != null
+                && UNIQUE_NAME_VERSION.equals(context.getMigrationInfo().getVersion());
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        List<String> duplicates = new ArrayList<>();
+        int total = 0;
+        try (Statement statement = context.getConnection().createStatement();
+             ResultSet rs = statement.executeQuery(DUPLICATES)) {
+            while (rs.next()) {
+                if (total++ < MAX_LISTED) {
+                    duplicates.add(rs.getString("name") + " (" + rs.getInt("copies") + "x)");
+                }
+            }
+        } catch (SQLException e) {
+            throw new FlywayException("Could not check t_team_entity for duplicate names before V2", e);
+        }
+        if (total > 0) {
+            throw new FlywayException(total + " team names occur more than once, so the unique index ux_team_name "
+                    + "cannot be created. Rename or merge these teams, then rerun the migration: "
+                    + String.join(", ", duplicates) + (total > MAX_LISTED ? ", ..." : ""));
+        }
+    }
+
+    @Override
+    public String getCallbackName() {
+        return "team name duplicate check";
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.football_championship.controller;
+
+import com.example.football_championship.service.StandingsVerificationService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final StandingsVerificationService standingsVerificationService;
+
+    public AdminController(StandingsVerificationService standingsVerificationService) {
+        this.standingsVerificationService = standingsVerificationService;
+    }
+
+    @GetMapping("/standings/verify")
+    public ResponseEntity<StandingsVerificationService.Report> verifyStandings() {
+        return ResponseEntity.ok(standingsVerificationService.verify(false));
+    }
+
+    @PostMapping("/standings/repair")
+    public ResponseEntity<StandingsVerificationService.Report> repairStandings() {
+        return ResponseEntity.ok(standingsVerificationService.verify(true));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.football_championship.controller;
+
+import com.example.football_championship.DTO.CursorPage;
+import com.example.football_championship.audit.AuditLog;
+import com.example.football_championship.service.AuditLogService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/audit")
+public class AuditController {
+
+    private final AuditLogService auditLogService;
+
+    public AuditController(AuditLogService auditLogService) {
+        this.auditLogService = auditLogService;
+    }
+
+    @GetMapping
+    public ResponseEntity<CursorPage<AuditLog>> getAuditLogs(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String entity,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(auditLogService.getAuditLogs(from, to, action, entity, after, limit));
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.football_championship.controller;
+
+import com.example.football_championship.DTO.ImportResult;
+import com.example.football_championship.service.BulkImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/api/import")
+public class ImportController {
+
+    private final BulkImportService bulkImportService;
+
+    public ImportController(BulkImportService bulkImportService) {
+        this.bulkImportService = bulkImportService;
+    }
+
+    @PostMapping(value = "/teams", consumes = {"text/plain", "text/csv"}, produces = "application/json")
+    public ResponseEntity<ImportResult> importTeams(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(bulkImportService.importTeams(reader(request)));
+    }
+
+    @PostMapping(value = "/matches", consumes = {"text/plain", "text/csv"}, produces = "application/json")
+    public ResponseEntity<ImportResult> importMatches(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(bulkImportService.importMatches(reader(request)));
+    }
+
+    private BufferedReader reader(HttpServletRequest request) throws IOException {
+        return new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+    }
+}
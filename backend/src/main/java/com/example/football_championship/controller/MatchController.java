@@ -3,24 +3,54 @@ package com.example.football_championship.controller;
 import com.example.football_championship.DTO.CreateMatchDTO;
 import com.example.football_championship.DTO.ProcessingResult;
 import com.example.football_championship.model.Match;
+import com.example.football_championship.service.MatchListingService;
 import com.example.football_championship.service.MatchService;
+import com.example.football_championship.service.MatchStreamService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/match")
 public class MatchController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final MatchService matchService;
+    private final MatchStreamService matchStreamService;
+    private final MatchListingService matchListingService;
 
-    public MatchController(MatchService matchService) {
+    public MatchController(MatchService matchService, MatchStreamService matchStreamService, MatchListingService matchListingService) {
         this.matchService = matchService;
+        this.matchStreamService = matchStreamService;
+        this.matchListingService = matchListingService;
     }
 
     @PostMapping(value = "/addMatches", consumes = "application/json", produces = "application/json")
     public ResponseEntity<ProcessingResult<Match>> addMatch(@RequestBody List<CreateMatchDTO> dtoList) {
         return ResponseEntity.ok(matchService.addMatch(dtoList));
     }
+
+    @PostMapping(value = "/addMatches", consumes = NDJSON, produces = NDJSON)
+    public void addMatchStream(@RequestParam(defaultValue = "false") boolean summary,
+                               HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        matchStreamService.ingest(request.getInputStream(), response.getOutputStream(), summary);
+    }
+
+    @GetMapping(value = "/matches", produces = "application/json")
+    public ResponseEntity<StreamingResponseBody> getMatches(@RequestParam(required = false) String after,
+                                                            @RequestParam(defaultValue = "100") int limit) {
+        // Checked before streaming starts, afterwards an error can no longer become a 400
+        matchListingService.validatePage(after, limit);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(output -> matchListingService.writePage(after, limit, output));
+    }
 }
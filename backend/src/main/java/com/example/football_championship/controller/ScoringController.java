@@ -0,0 +1,47 @@
+package com.example.football_championship.controller;
+
+import com.example.football_championship.DTO.CreatePointSystemDTO;
+import com.example.football_championship.scoring.PointSystem;
+import com.example.football_championship.scoring.PointSystemRegistry;
+import com.example.football_championship.scoring.RescoringService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Collection;
+
+@RestController
+@RequestMapping("/api/scoring")
+public class ScoringController {
+
+    private final PointSystemRegistry pointSystemRegistry;
+    private final RescoringService rescoringService;
+
+    public ScoringController(PointSystemRegistry pointSystemRegistry, RescoringService rescoringService) {
+        this.pointSystemRegistry = pointSystemRegistry;
+        this.rescoringService = rescoringService;
+    }
+
+    @GetMapping("/pointSystems")
+    public ResponseEntity<Collection<PointSystem>> getPointSystems() {
+        return ResponseEntity.ok(pointSystemRegistry.getAll());
+    }
+
+    @PostMapping(value = "/pointSystems", consumes = "application/json", produces = "application/json")
+    public ResponseEntity<PointSystem> addPointSystem(@RequestBody CreatePointSystemDTO dto) {
+        PointSystem pointSystem = new PointSystem(dto.getName(), dto.getWin(), dto.getDraw(), dto.getLoss());
+        // Registering starts the re-scoring job, its progress is visible through getTotals
+        pointSystemRegistry.register(pointSystem);
+        return ResponseEntity.accepted().body(pointSystem);
+    }
+
+    @PostMapping("/pointSystems/{name}/rescore")
+    public ResponseEntity<RescoringService.Result> rescore(@PathVariable String name) {
+        rescoringService.rescore(pointSystemRegistry.get(name));
+        return ResponseEntity.accepted().body(rescoringService.getResult(name));
+    }
+
+    @GetMapping("/pointSystems/{name}/totals")
+    public ResponseEntity<RescoringService.Result> getTotals(@PathVariable String name) {
+        return ResponseEntity.ok(rescoringService.getResult(name));
+    }
+}
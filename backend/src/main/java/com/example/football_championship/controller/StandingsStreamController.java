@@ -0,0 +1,26 @@
+package com.example.football_championship.controller;
+
+import com.example.football_championship.standings.StandingsStream;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/team")
+public class StandingsStreamController {
+
+    private final StandingsStream standingsStream;
+
+    public StandingsStreamController(StandingsStream standingsStream) {
+        this.standingsStream = standingsStream;
+    }
+
+    // Without a group the stream carries changes from every group
+    @GetMapping(value = "/standings/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(required = false) Integer group) {
+        return standingsStream.subscribe(group);
+    }
+}
@@ -1,31 +1,51 @@
 package com.example.football_championship.controller;
 
 import com.example.football_championship.DTO.CreateTeamDTO;
+import com.example.football_championship.DTO.CursorPage;
+import com.example.football_championship.DTO.GroupStandings;
 import com.example.football_championship.DTO.ProcessingResult;
+import com.example.football_championship.DTO.TeamStanding;
+import com.example.football_championship.DTO.TeamView;
 import com.example.football_championship.DTO.UpdateTeamDTO;
+import com.example.football_championship.cache.ResourceVersions;
 import com.example.football_championship.model.Team;
 import com.example.football_championship.service.TeamService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.Comparator;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/team")
 public class TeamController {
 
+    private static final List<MediaType> BINARY_ENCODINGS = List.of(MediaType.APPLICATION_CBOR,
+            new MediaType("application", "x-jackson-smile"));
+
     private final TeamService teamService;
+    private final ResourceVersions resourceVersions;
 
-    public TeamController(TeamService teamService) {
+    public TeamController(TeamService teamService, ResourceVersions resourceVersions) {
         this.teamService = teamService;
+        this.resourceVersions = resourceVersions;
     }
 
     @GetMapping("/getTeam/{teamName}")
-    public ResponseEntity<Team> getTeamByName(@PathVariable("teamName") String teamName) {
-        Team teamRetrieved = teamService.getTeamDetails(teamName);
-        return ResponseEntity.ok(teamRetrieved);
+    public ResponseEntity<TeamView> getTeamByName(@PathVariable("teamName") String teamName, WebRequest request) {
+        // Read the version before the data, a change in between only makes the ETag older
+        String eTag = representationETag(resourceVersions.teamETag(teamName), request);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        TeamView teamRetrieved = teamService.getTeamDetails(teamName);
+        // The ETag differs per encoding as well, Vary tells shared caches to key on Accept
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(teamRetrieved);
     }
 
     @PostMapping(value = "/addTeams", consumes = "application/json", produces = "application/json")
@@ -44,8 +64,34 @@ public class TeamController {
     }
 
     @GetMapping("/rankings/{groupNumber}")
-    public ResponseEntity<List<Team>> getRankings(@PathVariable int groupNumber) {
-        return ResponseEntity.ok(teamService.getRankingsByGroup(groupNumber));
+    public ResponseEntity<List<TeamView>> getRankings(@PathVariable int groupNumber, WebRequest request) {
+        String eTag = representationETag(resourceVersions.groupETag(groupNumber), request);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(teamService.getRankingsByGroup(groupNumber));
+    }
+
+    @GetMapping("/standings")
+    public ResponseEntity<List<GroupStandings>> getStandings(WebRequest request) {
+        String eTag = representationETag(resourceVersions.tournamentETag(), request);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(teamService.getTournamentStandings());
+    }
+
+    @GetMapping("/rankings/{groupNumber}/page")
+    public ResponseEntity<CursorPage<TeamView>> getRankingPage(@PathVariable int groupNumber,
+                                                               @RequestParam(required = false) String after,
+                                                               @RequestParam(defaultValue = "50") int limit,
+                                                               WebRequest request) {
+        String eTag = representationETag(resourceVersions.groupETag(groupNumber), request);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT)
+                .body(teamService.getRankingPage(groupNumber, after, limit));
     }
 
     @PutMapping(value = "/updateTeam/{operation}", consumes = "application/json", produces = "application/json")
@@ -57,4 +103,44 @@ public class TeamController {
     public ResponseEntity<Boolean> getOutcome(@PathVariable String teamName, @PathVariable int groupNumber) {
         return ResponseEntity.ok(teamService.getOutcomeForTeam(teamName, groupNumber));
     }
+
+    @GetMapping("/rankings/{groupNumber}/standing/{teamName}")
+    public ResponseEntity<TeamStanding> getStanding(@PathVariable int groupNumber, @PathVariable String teamName) {
+        return ResponseEntity.ok(teamService.getStanding(teamName, groupNumber));
+    }
+
+    /**
+     * JSON, CBOR and Smile bodies differ byte for byte, so a strong ETag must not match across them.
+     * JSON keeps the plain tag, the binary encodings get their subtype appended. The encoding is picked
+     * the way content negotiation does: highest quality first, concrete types before wildcards, and
+     * wildcards resolve to JSON.
+     */
+    private static String representationETag(String eTag, WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return eTag;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return eTag;
+        }
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed()
+                .thenComparing(type -> type.isWildcardType() || type.isWildcardSubtype()));
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType encoding : BINARY_ENCODINGS) {
+                if (type.equalsTypeAndSubtype(encoding)) {
+                    return eTag.substring(0, eTag.length() - 1) + "-" + encoding.getSubtype() + "\"";
+                }
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return eTag;
+            }
+        }
+        return eTag;
+    }
 }
@@ -0,0 +1,9 @@
+package com.example.football_championship.event;
+
+/**
+ * Published when a batch of match results has been stored.
+ *
+ * @param count number of matches stored by the batch
+ */
+public record MatchesAddedEvent(int count) {
+}
@@ -0,0 +1,6 @@
+package com.example.football_championship.event;
+
+import com.example.football_championship.scoring.PointSystem;
+
+public record PointSystemAddedEvent(PointSystem pointSystem) {
+}
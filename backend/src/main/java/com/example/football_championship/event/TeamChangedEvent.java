@@ -0,0 +1,26 @@
+package com.example.football_championship.event;
+
+import com.example.football_championship.model.TeamSnapshot;
+
+/**
+ * Published whenever a team's persisted state changes.
+ *
+ * @param previousName        name the team had before the change, null for a newly added team
+ * @param previousGroupNumber group the team was in before the change, null for a newly added team
+ * @param current             state after the change, null when the team was deleted
+ */
+public record TeamChangedEvent(String previousName, Integer previousGroupNumber, TeamSnapshot current) {
+
+    // For changes that leave the team in the same group
+    public static TeamChangedEvent saved(String previousName, TeamSnapshot current) {
+        return new TeamChangedEvent(previousName, previousName == null ? null : current.groupNumber(), current);
+    }
+
+    public static TeamChangedEvent saved(String previousName, int previousGroupNumber, TeamSnapshot current) {
+        return new TeamChangedEvent(previousName, previousGroupNumber, current);
+    }
+
+    public static TeamChangedEvent deleted(String name, int groupNumber) {
+        return new TeamChangedEvent(name, groupNumber, null);
+    }
+}
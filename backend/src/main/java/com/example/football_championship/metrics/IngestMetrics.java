@@ -0,0 +1,65 @@
+package com.example.football_championship.metrics;
+
+import com.example.football_championship.utils.ValidationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for team and match ingestion: batch size, batch latency, the batch time per record
+ * (all with percentile histograms) and validation errors by reason.
+ */
+@Component
+public class IngestMetrics {
+
+    public static final String TEAM = "team";
+    public static final String MATCH = "match";
+
+    private final MeterRegistry meterRegistry;
+
+    public IngestMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void recordBatch(String type, int size, long elapsedNanos) {
+        DistributionSummary.builder("championship.ingest.batch.size")
+                .description("Records per ingestion call")
+                .tag("type", type)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(size);
+        Timer.builder("championship.ingest.batch")
+                .description("Time taken to process one ingestion call")
+                .tag("type", type)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (size == 0) {
+            return;
+        }
+
+        // Records are written together and never timed one by one: this is the batch average,
+        // one sample per batch, so its percentiles are across batches and not across records
+        DistributionSummary.builder("championship.ingest.batch.time.per.record")
+                .description("Batch processing time divided by its record count (derived, one sample per batch)")
+                .baseUnit("seconds")
+                .tag("type", type)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record((double) elapsedNanos / size / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    public void validationError(String type, IllegalArgumentException e) {
+        String reason = e instanceof ValidationException validation ? validation.getReason().name() : "OTHER";
+        Counter.builder("championship.ingest.validation.errors")
+                .description("Records rejected during ingestion")
+                .tag("type", type)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
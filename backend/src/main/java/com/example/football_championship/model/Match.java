@@ -7,7 +7,8 @@ import jakarta.persistence.*;
 public class Match extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "match_seq")
+    @SequenceGenerator(name = "match_seq", sequenceName = "t_match_entity_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,8 @@
+package com.example.football_championship.model;
+
+/**
+ * Read-only view of a stored match for listings, serialised with the same field names
+ * as {@link Match}.
+ */
+public record MatchSummary(Long id, String teamA, int teamAScore, String teamB, int teamBScore) {
+}
@@ -0,0 +1,51 @@
+package com.example.football_championship.model;
+
+import jakarta.persistence.*;
+
+/**
+ * A point system registered through the API, stored so it survives a restart. Systems
+ * configured under championship.scoring.systems are not stored here.
+ */
+@Entity
+@Table(name = "t_point_system_entity")
+public class PointSystemDefinition extends BaseEntity {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private int win;
+
+    @Column(nullable = false)
+    private int draw;
+
+    @Column(nullable = false)
+    private int loss;
+
+    protected PointSystemDefinition() {
+    }
+
+    public PointSystemDefinition(String name, int win, int draw, int loss) {
+        this.name = name;
+        this.win = win;
+        this.draw = draw;
+        this.loss = loss;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getWin() {
+        return win;
+    }
+
+    public int getDraw() {
+        return draw;
+    }
+
+    public int getLoss() {
+        return loss;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.football_championship.model;
+
+/**
+ * A team with its one-based position in its group.
+ */
+public record RankedTeam(TeamSnapshot team, int rank) {
+}
@@ -1,14 +1,22 @@
 package com.example.football_championship.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "t_team_entity")
+@Table(name = "t_team_entity",
+        uniqueConstraints = @UniqueConstraint(name = "ux_team_name", columnNames = "name"),
+        // Group first, then the ranking order, so rank lookups count ahead-of teams from the index.
+        // On PostgreSQL the name column is indexed with collate "C", see V6
+        indexes = @Index(name = "ix_team_group_ranking",
+                columnList = "groupNumber, matchPoints desc, totalGoals desc, alternatePoints desc, registrationDate, name"))
 //@EntityListeners(AuditListener.class)
 public class Team extends BaseEntity{
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence ids let Hibernate batch inserts, IDENTITY forces one round-trip per row
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_seq")
+    @SequenceGenerator(name = "team_seq", sequenceName = "t_team_entity_seq", allocationSize = 50)
     public Long id;
 
     @Column(nullable = false)
@@ -25,6 +33,12 @@ public class Team extends BaseEntity{
     public Integer alternatePoints = 0;
     public Integer matchesPlayed = 0;
 
+    // Guards whole-entity writes (EDIT); match results are added in SQL and bump it as well
+    @Version
+    @JsonIgnore
+    @Column(nullable = false)
+    public Long version;
+
     public String getName() {
         return name;
     }
@@ -0,0 +1,40 @@
+package com.example.football_championship.model;
+
+import java.time.LocalDate;
+
+/**
+ * Immutable copy of a team's ranking-relevant state, safe to share across threads
+ * and to keep outside of a persistence context. {@code version} is the row's optimistic-lock
+ * version, so listeners can tell which of two snapshots of the same team is newer.
+ */
+public record TeamSnapshot(Long id,
+                           String name,
+                           LocalDate registrationDate,
+                           int groupNumber,
+                           int totalGoals,
+                           int matchPoints,
+                           int alternatePoints,
+                           int matchesPlayed,
+                           long version) {
+
+    public static TeamSnapshot of(Team team) {
+        return new TeamSnapshot(team.id, team.getName(), team.getRegistrationDate(), team.getGroupNumber(),
+                team.getTotalGoals(), team.getMatchPoints(), team.getAlternatePoints(), team.matchesPlayed,
+                team.version != null ? team.version : 0);
+    }
+
+    // Detached Team carrying the same values, used where the API still returns Team
+    public Team toTeam() {
+        Team team = new Team();
+        team.id = id;
+        team.setName(name);
+        team.setRegistrationDate(registrationDate);
+        team.setGroupNumber(groupNumber);
+        team.setTotalGoals(totalGoals);
+        team.setMatchPoints(matchPoints);
+        team.setAlternatePoints(alternatePoints);
+        team.setMatchesPlayed(matchesPlayed);
+        team.version = version;
+        return team;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.football_championship.model;
+
+/**
+ * Amounts to add to a team's running totals, applied in SQL so concurrent updates
+ * of the same team add up instead of overwriting each other.
+ */
+public record TeamStatsDelta(int totalGoals, int matchPoints, int alternatePoints, int matchesPlayed) {
+
+    public static TeamStatsDelta ofMatch(int goals, int matchPoints, int alternatePoints) {
+        return new TeamStatsDelta(goals, matchPoints, alternatePoints, 1);
+    }
+
+    public TeamStatsDelta plus(TeamStatsDelta other) {
+        return new TeamStatsDelta(totalGoals + other.totalGoals, matchPoints + other.matchPoints,
+                alternatePoints + other.alternatePoints, matchesPlayed + other.matchesPlayed);
+    }
+}
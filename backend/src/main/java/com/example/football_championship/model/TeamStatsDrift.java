@@ -0,0 +1,7 @@
+package com.example.football_championship.model;
+
+/**
+ * A team whose stored totals differ from the totals recomputed from its matches.
+ */
+public record TeamStatsDrift(TeamSnapshot stored, TeamSnapshot expected) {
+}
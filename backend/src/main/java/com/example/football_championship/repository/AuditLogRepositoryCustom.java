@@ -0,0 +1,17 @@
+package com.example.football_championship.repository;
+
+import com.example.football_championship.audit.AuditLog;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AuditLogRepositoryCustom {
+
+    /**
+     * Up to {@code limit} audit records, newest first, that come after the record identified
+     * by {@code afterTimestamp} and {@code afterId} (both null for the first page). Null filters
+     * are left out of the query; a time range lets PostgreSQL skip partitions outside it.
+     */
+    List<AuditLog> findPage(LocalDateTime from, LocalDateTime to, String action, String entityName,
+                            LocalDateTime afterTimestamp, Long afterId, int limit);
+}
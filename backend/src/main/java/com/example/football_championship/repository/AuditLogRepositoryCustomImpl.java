@@ -0,0 +1,54 @@
+package com.example.football_championship.repository;
+
+import com.example.football_championship.audit.AuditLog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class AuditLogRepositoryCustomImpl implements AuditLogRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AuditLog> findPage(LocalDateTime from, LocalDateTime to, String action, String entityName,
+                                   LocalDateTime afterTimestamp, Long afterId, int limit) {
+        // Only the filters that were given end up in the query, so each one can use the indexes
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+        if (from != null) {
+            conditions.add("a.timestamp >= :from");
+            parameters.put("from", from);
+        }
+        if (to != null) {
+            conditions.add("a.timestamp < :to");
+            parameters.put("to", to);
+        }
+        if (action != null) {
+            conditions.add("a.action = :action");
+            parameters.put("action", action);
+        }
+        if (entityName != null) {
+            conditions.add("a.entityName = :entityName");
+            parameters.put("entityName", entityName);
+        }
+        if (afterTimestamp != null && afterId != null) {
+            conditions.add("(a.timestamp < :afterTimestamp or (a.timestamp = :afterTimestamp and a.id < :afterId))");
+            parameters.put("afterTimestamp", afterTimestamp);
+            parameters.put("afterId", afterId);
+        }
+
+        String jpql = "select a from AuditLog a"
+                + (conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions))
+                + " order by a.timestamp desc, a.id desc";
+        TypedQuery<AuditLog> query = entityManager.createQuery(jpql, AuditLog.class).setMaxResults(limit);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+}
@@ -2,6 +2,14 @@ package com.example.football_championship.repository;
 
 import com.example.football_championship.model.Match;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
-public interface MatchRepository extends JpaRepository<Match, Long> {
+public interface MatchRepository extends JpaRepository<Match, Long>, MatchRepositoryCustom {
+    // Matches reference teams by name, a rename has to follow them or the team's totals no longer add up
+    @Modifying
+    @Query("update Match m set m.teamAName = case when m.teamAName = :oldName then :newName else m.teamAName end, "
+            + "m.teamBName = case when m.teamBName = :oldName then :newName else m.teamBName end "
+            + "where m.teamAName = :oldName or m.teamBName = :oldName")
+    int renameTeam(String oldName, String newName);
 }
@@ -0,0 +1,15 @@
+package com.example.football_championship.repository;
+
+import com.example.football_championship.model.MatchSummary;
+
+import java.util.function.Consumer;
+
+public interface MatchRepositoryCustom {
+
+    /**
+     * Hands up to {@code limit} matches with an id above {@code afterId} to the action, in id
+     * order, as they are read. Rows are fetched from the database in small blocks, so memory
+     * use does not grow with the limit. On PostgreSQL this needs an open transaction.
+     */
+    void forEachAfter(long afterId, int limit, Consumer<MatchSummary> action);
+}
@@ -0,0 +1,34 @@
+package com.example.football_championship.repository;
+
+import com.example.football_championship.model.MatchSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.function.Consumer;
+
+public class MatchRepositoryCustomImpl implements MatchRepositoryCustom {
+    private static final int FETCH_SIZE = 500;
+
+    // Keyset on the primary key: every page is an index range scan, however deep it is
+    private static final String SELECT_AFTER = "select id, teamaname, teamagoals, teambname, teambgoals "
+            + "from t_match_entity where id > ? order by id limit ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void forEachAfter(long afterId, int limit, Consumer<MatchSummary> action) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement statement = con.prepareStatement(SELECT_AFTER);
+            // Without a fetch size the PostgreSQL driver reads the whole result into memory first
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setLong(1, afterId);
+            statement.setInt(2, limit);
+            return statement;
+        }, rs -> {
+            action.accept(new MatchSummary(rs.getLong("id"), rs.getString("teamaname"), rs.getInt("teamagoals"),
+                    rs.getString("teambname"), rs.getInt("teambgoals")));
+        });
+    }
+}
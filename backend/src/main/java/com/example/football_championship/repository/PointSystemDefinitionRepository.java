@@ -0,0 +1,7 @@
+package com.example.football_championship.repository;
+
+import com.example.football_championship.model.PointSystemDefinition;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PointSystemDefinitionRepository extends JpaRepository<PointSystemDefinition, String> {
+}
@@ -1,14 +1,22 @@
 package com.example.football_championship.repository;
 
 import com.example.football_championship.model.Team;
+import com.example.football_championship.model.TeamSnapshot;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface TeamRepository extends JpaRepository<Team, Long> {
+public interface TeamRepository extends JpaRepository<Team, Long>, TeamRepositoryCustom {
     Optional<List<Team>> findByGroupNumber(int groupNumber);
     Optional<Team> findByName(String name);
+    // Read-only projection: no managed entity, no dirty checking on flush
+    Optional<TeamSnapshot> findSnapshotByName(String name);
+    // Existence check without loading entities into the persistence context
+    @Query("select t.name from Team t where t.name in :names")
+    List<String> findNamesIn(Collection<String> names);
     void deleteByName(String name);
 
 }
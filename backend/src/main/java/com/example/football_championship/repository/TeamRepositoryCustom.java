@@ -0,0 +1,63 @@
+package com.example.football_championship.repository;
+
+import com.example.football_championship.model.RankedTeam;
+import com.example.football_championship.model.Team;
+import com.example.football_championship.model.TeamSnapshot;
+import com.example.football_championship.model.TeamStatsDelta;
+import com.example.football_championship.model.TeamStatsDrift;
+import com.example.football_championship.scoring.PointSystem;
+
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+public interface TeamRepositoryCustom {
+
+    /**
+     * Inserts the teams with INSERT ... ON CONFLICT DO NOTHING, relying on the unique index
+     * on name. Returns the teams that were actually inserted, with their ids set; teams whose
+     * name already exists (in the table or earlier in the list) are left out.
+     */
+    List<Team> insertIgnoringDuplicates(List<Team> teams);
+
+    /**
+     * Adds the deltas to each named team with UPDATE ... SET col = col + ?, sent as one JDBC
+     * batch, and bumps the version. Returns the state of the updated teams after the change;
+     * names that match no team are left out.
+     */
+    List<TeamSnapshot> incrementStats(Map<String, TeamStatsDelta> deltas);
+
+    /**
+     * Recomputes every team's goals, points under both point systems and matches played
+     * with one aggregation over the match table, and returns the teams whose stored totals
+     * differ. Teams without matches are expected to have all zeros.
+     */
+    List<TeamStatsDrift> findStatsDrift(PointSystem standard, PointSystem alternate);
+
+    /**
+     * Locks the given teams with SELECT ... FOR UPDATE, recomputes their totals under the lock
+     * and overwrites the ones still drifted with a single MERGE limited to those teams.
+     * Returns the drift that was repaired; an incrementStats running alongside either commits
+     * before the recompute or waits for the repair, so its delta is never lost.
+     */
+    List<TeamStatsDrift> repairStats(PointSystem standard, PointSystem alternate, List<Long> teamIds);
+
+    /**
+     * Every team's points under the given point system, summed over its matches with one
+     * aggregation in the database. Teams without matches get zero.
+     */
+    Map<String, Integer> findPointTotals(PointSystem pointSystem);
+
+    /**
+     * One-based rank of the team within the group, counted in SQL as the teams ahead of it
+     * on points, goals, alternate points, registration date and finally name. Empty if the
+     * team is not in that group.
+     */
+    OptionalInt findRank(String teamName, int groupNumber);
+
+    /**
+     * Every team with its rank, numbered by a window partitioned by group in the same order
+     * as {@link #findRank}. Rows come back group by group, in ranking order.
+     */
+    List<RankedTeam> findAllRanked();
+}
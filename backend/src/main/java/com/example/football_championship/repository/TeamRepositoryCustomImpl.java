@@ -0,0 +1,281 @@
+package com.example.football_championship.repository;
+
+import com.example.football_championship.model.RankedTeam;
+import com.example.football_championship.model.Team;
+import com.example.football_championship.model.TeamSnapshot;
+import com.example.football_championship.model.TeamStatsDelta;
+import com.example.football_championship.model.TeamStatsDrift;
+import com.example.football_championship.scoring.PointSystem;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import java.sql.DatabaseMetaData;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.TreeMap;
+
+public class TeamRepositoryCustomImpl implements TeamRepositoryCustom {
+    private static final String COLUMNS = "(id, name, registration_date, group_number, total_goals, match_points, "
+            + "alternate_points, matches_played, version, created_by, last_modified_by, created_date, last_modified_date)";
+    private static final String ROW = "(nextval('t_team_entity_seq'), ?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?, ?)";
+
+    // Well below the PostgreSQL driver's limit of 32767 bind parameters per statement
+    private static final int PARAMETERS_PER_STATEMENT = 11_000;
+    private static final int ROWS_PER_STATEMENT = PARAMETERS_PER_STATEMENT / (int) ROW.chars().filter(c -> c == '?').count();
+
+    private static final String INCREMENT = "update t_team_entity set total_goals = total_goals + ?, "
+            + "match_points = match_points + ?, alternate_points = alternate_points + ?, "
+            + "matches_played = matches_played + ?, version = version + 1, last_modified_date = ? where name = ?";
+    private static final String SELECT_STATS = "select id, name, registration_date, group_number, total_goals, "
+            + "match_points, alternate_points, matches_played, version from t_team_entity where name in ";
+
+    // Each match once for each of its two teams, from that team's side
+    private static final String MATCH_SIDES = "select teamaname as team, teamagoals as goals_for, teambgoals as goals_against from t_match_entity "
+            + "union all "
+            + "select teambname, teambgoals, teamagoals from t_match_entity";
+    // Points for one side of a match, bound as win, draw and loss
+    private static final String POINTS = "case when goals_for > goals_against then cast(? as integer) "
+            + "when goals_for = goals_against then cast(? as integer) else cast(? as integer) end";
+
+    // Stored and recomputed totals side by side
+    private static final String EXPECTED_STATS = "select t.id, t.name, t.registration_date, t.group_number, "
+            + "coalesce(t.total_goals, 0) as total_goals, coalesce(t.match_points, 0) as match_points, "
+            + "coalesce(t.alternate_points, 0) as alternate_points, coalesce(t.matches_played, 0) as matches_played, t.version, "
+            + "coalesce(r.goals, 0) as expected_goals, coalesce(r.points, 0) as expected_points, "
+            + "coalesce(r.alternate, 0) as expected_alternate, coalesce(r.played, 0) as expected_played "
+            + "from t_team_entity t left join ("
+            + "select team, sum(goals_for) as goals, sum(" + POINTS + ") as points, sum(" + POINTS + ") as alternate, "
+            + "count(*) as played from (" + MATCH_SIDES + ") m "
+            + "group by team) r on r.team = t.name";
+
+    // Every team, with zero for teams without matches; matches of deleted teams are left out
+    private static final String POINT_TOTALS = "select t.name, coalesce(r.points, 0) as points from t_team_entity t left join ("
+            + "select team, sum(" + POINTS + ") as points from (" + MATCH_SIDES + ") m group by team) r on r.team = t.name";
+    private static final String DRIFTED = "s.total_goals <> s.expected_goals or s.match_points <> s.expected_points "
+            + "or s.alternate_points <> s.expected_alternate or s.matches_played <> s.expected_played";
+    // Locked in name order like incrementStats, so a repair and a match upload cannot deadlock; %1$s is the name collation
+    private static final String LOCK = "select id from t_team_entity where id in (%2$s) order by name%1$s for update";
+    // Limited to the teams locked above, %s is the id placeholder list
+    private static final String REPAIR = "merge into t_team_entity t using (select * from (" + EXPECTED_STATS + ") e where e.id in (%s)) s on (t.id = s.id) "
+            + "when matched and (" + DRIFTED + ") then update set total_goals = s.expected_goals, "
+            + "match_points = s.expected_points, alternate_points = s.expected_alternate, "
+            + "matches_played = s.expected_played, version = t.version + 1, last_modified_date = ?";
+
+    // Names compare in code point order like String.compareTo, not in the database's locale collation.
+    // PostgreSQL needs collate "C" for that; H2 (tests) has no such clause and already compares that way
+    private static final String C_COLLATION = " collate \"C\"";
+
+    // Teams ahead of t in the ranking comparator's order, spelled out so it can walk ix_team_group_ranking;
+    // %1$s is the name collation
+    private static final String RANK = "select (select count(*) from t_team_entity o where o.group_number = t.group_number "
+            + "and (o.match_points > t.match_points or o.match_points = t.match_points "
+            + "and (o.total_goals > t.total_goals or o.total_goals = t.total_goals "
+            + "and (o.alternate_points > t.alternate_points or o.alternate_points = t.alternate_points "
+            + "and (o.registration_date < t.registration_date or o.registration_date = t.registration_date "
+            + "and o.name%1$s < t.name%1$s))))) as ahead "
+            + "from t_team_entity t where t.name = ? and t.group_number = ?";
+
+    // Same order as RANK, %1$s is the name collation
+    private static final String RANKED = "select id, name, registration_date, group_number, total_goals, match_points, "
+            + "alternate_points, matches_played, version, row_number() over (partition by group_number "
+            + "order by match_points desc, total_goals desc, alternate_points desc, registration_date, name%1$s) as team_rank "
+            + "from t_team_entity order by group_number, team_rank";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    @Override
+    public List<Team> insertIgnoringDuplicates(List<Team> teams) {
+        // The first occurrence of a name wins, later ones in the same request count as duplicates
+        Map<String, Team> unique = new LinkedHashMap<>();
+        teams.forEach(team -> unique.putIfAbsent(team.name, team));
+
+        List<Team> candidates = new ArrayList<>(unique.values());
+        Map<String, Long> insertedIds = new HashMap<>();
+        for (int from = 0; from < candidates.size(); from += ROWS_PER_STATEMENT) {
+            insertChunk(candidates.subList(from, Math.min(from + ROWS_PER_STATEMENT, candidates.size())), insertedIds);
+        }
+
+        List<Team> inserted = new ArrayList<>(insertedIds.size());
+        for (Team team : candidates) {
+            Long id = insertedIds.get(team.name);
+            if (id != null) {
+                team.id = id;
+                team.version = 0L;
+                inserted.add(team);
+            }
+        }
+        return inserted;
+    }
+
+    @Override
+    public List<TeamSnapshot> incrementStats(Map<String, TeamStatsDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        // Rows are locked in name order whatever map the caller passed, concurrent batches cannot deadlock
+        new TreeMap<>(deltas).forEach((name, delta) -> args.add(new Object[]{delta.totalGoals(), delta.matchPoints(),
+                delta.alternatePoints(), delta.matchesPlayed(), now, name}));
+        jdbcTemplate.batchUpdate(INCREMENT, args);
+
+        // The rows stay locked until commit, so this reads exactly the totals written above
+        List<String> names = new ArrayList<>(deltas.keySet());
+        Map<String, TeamSnapshot> updated = new HashMap<>();
+        for (int from = 0; from < names.size(); from += ROWS_PER_STATEMENT) {
+            List<String> chunk = names.subList(from, Math.min(from + ROWS_PER_STATEMENT, names.size()));
+            String sql = SELECT_STATS + "(" + String.join(",", Collections.nCopies(chunk.size(), "?")) + ")";
+            jdbcTemplate.query(sql, rs -> {
+                updated.put(rs.getString("name"), new TeamSnapshot(rs.getLong("id"), rs.getString("name"),
+                        rs.getDate("registration_date").toLocalDate(), rs.getInt("group_number"),
+                        rs.getInt("total_goals"), rs.getInt("match_points"), rs.getInt("alternate_points"),
+                        rs.getInt("matches_played"), rs.getLong("version")));
+            }, chunk.toArray());
+        }
+
+        List<TeamSnapshot> result = new ArrayList<>(updated.size());
+        names.forEach(name -> {
+            TeamSnapshot team = updated.get(name);
+            if (team != null) {
+                result.add(team);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public List<TeamStatsDrift> findStatsDrift(PointSystem standard, PointSystem alternate) {
+        return queryDrift("", pointArgs(standard, alternate));
+    }
+
+    @Override
+    public List<TeamStatsDrift> repairStats(PointSystem standard, PointSystem alternate, List<Long> teamIds) {
+        List<TeamStatsDrift> repaired = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < teamIds.size(); from += ROWS_PER_STATEMENT) {
+            List<Long> chunk = teamIds.subList(from, Math.min(from + ROWS_PER_STATEMENT, teamIds.size()));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.queryForList(String.format(LOCK, nameCollation(), placeholders), Long.class, chunk.toArray());
+
+            // Read again under the lock: increments committed since the caller's read are counted,
+            // later ones wait for this transaction
+            List<Object> args = pointArgs(standard, alternate);
+            args.addAll(chunk);
+            List<TeamStatsDrift> drifts = queryDrift(" and s.id in (" + placeholders + ")", args);
+            if (drifts.isEmpty()) {
+                continue;
+            }
+            args.add(now);
+            jdbcTemplate.update(String.format(REPAIR, placeholders), args.toArray());
+            repaired.addAll(drifts);
+        }
+        return repaired;
+    }
+
+    @Override
+    public Map<String, Integer> findPointTotals(PointSystem pointSystem) {
+        Map<String, Integer> totals = new HashMap<>();
+        jdbcTemplate.query(POINT_TOTALS, rs -> {
+            totals.put(rs.getString("name"), rs.getInt("points"));
+        }, pointSystem.getWin(), pointSystem.getDraw(), pointSystem.getLoss());
+        return totals;
+    }
+
+    @Override
+    public OptionalInt findRank(String teamName, int groupNumber) {
+        List<Integer> ahead = jdbcTemplate.queryForList(String.format(RANK, nameCollation()), Integer.class, teamName, groupNumber);
+        return ahead.isEmpty() ? OptionalInt.empty() : OptionalInt.of(ahead.get(0) + 1);
+    }
+
+    @Override
+    public List<RankedTeam> findAllRanked() {
+        return jdbcTemplate.query(String.format(RANKED, nameCollation()), (rs, rowNum) -> new RankedTeam(new TeamSnapshot(rs.getLong("id"),
+                rs.getString("name"), rs.getDate("registration_date").toLocalDate(), rs.getInt("group_number"),
+                rs.getInt("total_goals"), rs.getInt("match_points"), rs.getInt("alternate_points"),
+                rs.getInt("matches_played"), rs.getLong("version")), rs.getInt("team_rank")));
+    }
+
+    private List<TeamStatsDrift> queryDrift(String filter, List<Object> args) {
+        String sql = "select * from (" + EXPECTED_STATS + ") s where (" + DRIFTED + ")" + filter + " order by s.name";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            Long id = rs.getLong("id");
+            String name = rs.getString("name");
+            LocalDate registrationDate = rs.getDate("registration_date").toLocalDate();
+            int groupNumber = rs.getInt("group_number");
+            long version = rs.getLong("version");
+            // The expected state is what repairStats writes, one version on
+            return new TeamStatsDrift(
+                    new TeamSnapshot(id, name, registrationDate, groupNumber, rs.getInt("total_goals"),
+                            rs.getInt("match_points"), rs.getInt("alternate_points"), rs.getInt("matches_played"), version),
+                    new TeamSnapshot(id, name, registrationDate, groupNumber, rs.getInt("expected_goals"),
+                            rs.getInt("expected_points"), rs.getInt("expected_alternate"), rs.getInt("expected_played"), version + 1));
+        }, args.toArray());
+    }
+
+    private static List<Object> pointArgs(PointSystem standard, PointSystem alternate) {
+        return new ArrayList<>(List.of(standard.getWin(), standard.getDraw(), standard.getLoss(),
+                alternate.getWin(), alternate.getDraw(), alternate.getLoss()));
+    }
+
+    private void insertChunk(List<Team> chunk, Map<String, Long> insertedIds) {
+        StringBuilder insert = new StringBuilder("insert into t_team_entity ").append(COLUMNS).append(" values ");
+        List<Object> args = new ArrayList<>(chunk.size() * 11);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < chunk.size(); i++) {
+            Team team = chunk.get(i);
+            insert.append(i == 0 ? ROW : "," + ROW);
+            args.add(team.name);
+            args.add(Date.valueOf(team.registrationDate));
+            args.add(team.groupNumber);
+            args.add(team.totalGoals);
+            args.add(team.matchPoints);
+            args.add(team.alternatePoints);
+            args.add(team.matchesPlayed);
+            args.add("Admin");
+            args.add("Admin");
+            args.add(now);
+            args.add(now);
+        }
+        insert.append(" on conflict do nothing");
+
+        // PostgreSQL hands the inserted rows back with RETURNING, H2 (tests) only through FINAL TABLE
+        String sql = isPostgres()
+                ? insert + " returning id, name"
+                : "select id, name from final table (" + insert + ")";
+        jdbcTemplate.query(sql, rs -> {
+            insertedIds.put(rs.getString("name"), rs.getLong("id"));
+        }, args.toArray());
+    }
+
+    private String nameCollation() {
+        return isPostgres() ? C_COLLATION : "";
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            try {
+                String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                        DatabaseMetaData::getDatabaseProductName);
+                postgres = "PostgreSQL".equalsIgnoreCase(product);
+            } catch (MetaDataAccessException e) {
+                postgres = true;
+            }
+        }
+        return postgres;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.football_championship.scoring;
+
+/**
+ * Points awarded for a win, a draw and a loss under one scoring rule.
+ */
+public final class PointSystem {
+
+    private final String name;
+    private final int win;
+    private final int draw;
+    private final int loss;
+
+    public PointSystem(String name, int win, int draw, int loss) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Point system name is required");
+        }
+        if (loss < 0 || draw < loss || win < draw) {
+            throw new IllegalArgumentException("Points must satisfy win >= draw >= loss >= 0");
+        }
+        this.name = name.toUpperCase();
+        this.win = win;
+        this.draw = draw;
+        this.loss = loss;
+    }
+
+    public int pointsFor(int goalsFor, int goalsAgainst) {
+        if (goalsFor > goalsAgainst) {
+            return win;
+        }
+        return goalsFor == goalsAgainst ? draw : loss;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getWin() {
+        return win;
+    }
+
+    public int getDraw() {
+        return draw;
+    }
+
+    public int getLoss() {
+        return loss;
+    }
+}
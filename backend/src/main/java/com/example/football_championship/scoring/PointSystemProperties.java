@@ -0,0 +1,61 @@
+package com.example.football_championship.scoring;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "championship.scoring")
+public class PointSystemProperties {
+
+    private Map<String, Rule> systems = new LinkedHashMap<>(Map.of(
+            PointSystemRegistry.STANDARD, new Rule(3, 1, 0),
+            PointSystemRegistry.ALTERNATE, new Rule(5, 3, 1)));
+
+    public Map<String, Rule> getSystems() {
+        return systems;
+    }
+
+    public void setSystems(Map<String, Rule> systems) {
+        this.systems = systems;
+    }
+
+    public static class Rule {
+        private int win;
+        private int draw;
+        private int loss;
+
+        public Rule() {
+        }
+
+        public Rule(int win, int draw, int loss) {
+            this.win = win;
+            this.draw = draw;
+            this.loss = loss;
+        }
+
+        public int getWin() {
+            return win;
+        }
+
+        public void setWin(int win) {
+            this.win = win;
+        }
+
+        public int getDraw() {
+            return draw;
+        }
+
+        public void setDraw(int draw) {
+            this.draw = draw;
+        }
+
+        public int getLoss() {
+            return loss;
+        }
+
+        public void setLoss(int loss) {
+            this.loss = loss;
+        }
+    }
+}
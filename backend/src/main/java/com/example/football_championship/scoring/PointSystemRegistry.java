@@ -0,0 +1,113 @@
+package com.example.football_championship.scoring;
+
+import com.example.football_championship.event.PointSystemAddedEvent;
+import com.example.football_championship.model.PointSystemDefinition;
+import com.example.football_championship.repository.PointSystemDefinitionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Point systems from configuration plus the ones registered through the API, which are
+ * stored and loaded again on startup. STANDARD and ALTERNATE feed the match point columns
+ * of a team; any other system has its totals computed by {@link RescoringService} from the
+ * stored matches.
+ */
+@Component
+public class PointSystemRegistry {
+
+    public static final String STANDARD = "STANDARD";
+    public static final String ALTERNATE = "ALTERNATE";
+
+    private static final Logger log = LoggerFactory.getLogger(PointSystemRegistry.class);
+
+    private final Map<String, PointSystem> pointSystems = new ConcurrentHashMap<>();
+    private final PointSystemDefinitionRepository definitionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PointSystem standard;
+    private final PointSystem alternate;
+
+    public PointSystemRegistry(PointSystemProperties properties, PointSystemDefinitionRepository definitionRepository,
+                               ApplicationEventPublisher eventPublisher) {
+        this.definitionRepository = definitionRepository;
+        this.eventPublisher = eventPublisher;
+        properties.getSystems().forEach((name, rule) -> {
+            PointSystem pointSystem = new PointSystem(name, rule.getWin(), rule.getDraw(), rule.getLoss());
+            pointSystems.put(pointSystem.getName(), pointSystem);
+        });
+        this.standard = require(STANDARD);
+        this.alternate = require(ALTERNATE);
+
+        definitionRepository.findAll().forEach(definition -> {
+            PointSystem pointSystem = new PointSystem(definition.getName(), definition.getWin(), definition.getDraw(), definition.getLoss());
+            // Configuration wins over a stored system of the same name
+            if (pointSystems.putIfAbsent(pointSystem.getName(), pointSystem) != null) {
+                log.warn("Ignoring stored point system {}, it is also configured", pointSystem.getName());
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scoreConfiguredSystems() {
+        getAdditionalSystems().forEach(pointSystem -> eventPublisher.publishEvent(new PointSystemAddedEvent(pointSystem)));
+    }
+
+    public PointSystem getStandard() {
+        return standard;
+    }
+
+    public PointSystem getAlternate() {
+        return alternate;
+    }
+
+    public PointSystem get(String name) {
+        PointSystem pointSystem = pointSystems.get(name.toUpperCase());
+        if (pointSystem == null) {
+            throw new IllegalArgumentException("Unknown point system: " + name);
+        }
+        return pointSystem;
+    }
+
+    public Collection<PointSystem> getAll() {
+        return new ArrayList<>(pointSystems.values());
+    }
+
+    public void register(PointSystem pointSystem) {
+        if (pointSystems.putIfAbsent(pointSystem.getName(), pointSystem) != null) {
+            throw new IllegalArgumentException("Point system already exists: " + pointSystem.getName());
+        }
+        try {
+            definitionRepository.save(new PointSystemDefinition(pointSystem.getName(), pointSystem.getWin(),
+                    pointSystem.getDraw(), pointSystem.getLoss()));
+        } catch (RuntimeException e) {
+            pointSystems.remove(pointSystem.getName());
+            throw e;
+        }
+        eventPublisher.publishEvent(new PointSystemAddedEvent(pointSystem));
+    }
+
+    public boolean isBuiltIn(PointSystem pointSystem) {
+        return pointSystem == standard || pointSystem == alternate;
+    }
+
+    private List<PointSystem> getAdditionalSystems() {
+        return pointSystems.values().stream().filter(pointSystem -> !isBuiltIn(pointSystem)).toList();
+    }
+
+    private PointSystem require(String name) {
+        PointSystem pointSystem = pointSystems.get(name);
+        if (pointSystem == null) {
+            throw new IllegalStateException("Point system " + name + " must be configured under championship.scoring.systems");
+        }
+        return pointSystem;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.football_championship.scoring;
+
+import com.example.football_championship.event.MatchesAddedEvent;
+import com.example.football_championship.event.PointSystemAddedEvent;
+import com.example.football_championship.event.TeamChangedEvent;
+import com.example.football_championship.repository.TeamRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Computes every team's total for a point system with one aggregation over the match table.
+ * Jobs run in the background and replace the published totals in one step once they finish,
+ * so readers always see either the previous or the new complete result. Runs for the same
+ * system never overlap: a request made while one is running is folded into a single rerun
+ * after it. Stored matches and added, renamed or deleted teams trigger such a rerun.
+ */
+@Service
+public class RescoringService {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    public record Result(String pointSystem, Status status, Map<String, Integer> totals, LocalDateTime completedAt) {
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(RescoringService.class);
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor taskExecutor;
+
+    private final Map<String, Result> results = new ConcurrentHashMap<>();
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    @EventListener
+    public void onPointSystemAdded(PointSystemAddedEvent event) {
+        rescore(event.pointSystem());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMatchesAdded(MatchesAddedEvent event) {
+        rescoreComputedSystems();
+    }
+
+    // Stats updates keep the name and only matter through the matches behind them
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamChanged(TeamChangedEvent event) {
+        if (event.previousName() == null || event.current() == null || !event.previousName().equals(event.current().name())) {
+            rescoreComputedSystems();
+        }
+    }
+
+    public void rescore(PointSystem pointSystem) {
+        results.compute(pointSystem.getName(), (name, previous) -> new Result(name, Status.RUNNING,
+                previous != null ? previous.totals() : Collections.emptyMap(), previous != null ? previous.completedAt() : null));
+        jobs.computeIfAbsent(pointSystem.getName(), name -> new Job(pointSystem)).request();
+    }
+
+    public Result getResult(String pointSystem) {
+        Result result = results.get(pointSystem.toUpperCase());
+        if (result == null) {
+            throw new NoSuchElementException("No totals computed for point system " + pointSystem);
+        }
+        return result;
+    }
+
+    private void rescoreComputedSystems() {
+        jobs.values().forEach(job -> rescore(job.pointSystem));
+    }
+
+    private final class Job {
+        final PointSystem pointSystem;
+        final AtomicBoolean requested = new AtomicBoolean();
+        // At most one run per system, so an older run can never publish after a newer one
+        final AtomicBoolean running = new AtomicBoolean();
+
+        Job(PointSystem pointSystem) {
+            this.pointSystem = pointSystem;
+        }
+
+        void request() {
+            requested.set(true);
+            if (running.compareAndSet(false, true)) {
+                taskExecutor.execute(this::run);
+            }
+        }
+
+        private void run() {
+            try {
+                while (requested.getAndSet(false)) {
+                    compute();
+                }
+            } finally {
+                running.set(false);
+            }
+            // A request made after the last check but before the flag was cleared would otherwise wait for the next one
+            if (requested.get()) {
+                request();
+            }
+        }
+
+        private void compute() {
+            String name = pointSystem.getName();
+            try {
+                Map<String, Integer> totals = Collections.unmodifiableMap(teamRepository.findPointTotals(pointSystem));
+                // Still RUNNING if another request came in meanwhile, these totals may already miss it
+                results.put(name, new Result(name, requested.get() ? Status.RUNNING : Status.COMPLETED, totals, LocalDateTime.now()));
+            } catch (RuntimeException e) {
+                log.error("Re-scoring for point system {} failed", name, e);
+                Result running = results.get(name);
+                results.put(name, new Result(name, Status.FAILED, running.totals(), running.completedAt()));
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.football_championship.service;
+
+import com.example.football_championship.DTO.CursorPage;
+import com.example.football_championship.audit.AuditLog;
+import com.example.football_championship.repository.AuditLogRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+public class AuditLogService {
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    /**
+     * Audit records newest first. The cursor holds the timestamp and id of the last record
+     * of the previous page, so later pages cost the same as the first.
+     */
+    public CursorPage<AuditLog> getAuditLogs(LocalDateTime from, LocalDateTime to, String action, String entityName,
+                                             String after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+
+        LocalDateTime afterTimestamp = null;
+        Long afterId = null;
+        if (after != null) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(after), StandardCharsets.UTF_8).split("\\|", 2);
+                afterTimestamp = LocalDateTime.parse(parts[0]);
+                afterId = Long.parseLong(parts[1]);
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + after);
+            }
+        }
+
+        // One extra record tells whether there is a next page
+        List<AuditLog> logs = auditLogRepository.findPage(from, to, action, entityName, afterTimestamp, afterId, limit + 1);
+        List<AuditLog> page = logs.size() > limit ? logs.subList(0, limit) : logs;
+        String nextCursor = null;
+        if (logs.size() > limit) {
+            AuditLog last = page.get(page.size() - 1);
+            String keys = last.getTimestamp() + "|" + last.getId();
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(keys.getBytes(StandardCharsets.UTF_8));
+        }
+        return new CursorPage<>(page, nextCursor);
+    }
+}
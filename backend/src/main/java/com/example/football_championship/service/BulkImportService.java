@@ -0,0 +1,136 @@
+package com.example.football_championship.service;
+
+import com.example.football_championship.DTO.CreateMatchDTO;
+import com.example.football_championship.DTO.CreateTeamDTO;
+import com.example.football_championship.DTO.ImportResult;
+import com.example.football_championship.DTO.ProcessingResult;
+import com.example.football_championship.utils.LineTokenizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Imports the plain-text sheets operators paste in, one record per line:
+ * <pre>
+ * teamA 17/06 1          (team name, registration date, group number)
+ * teamA teamB 0 1        (team A, team B, team A goals, team B goals)
+ * </pre>
+ * Fields may also be comma separated. Lines are sent to {@link TeamService} or
+ * {@link MatchService} in chunks, each saved in its own transaction, and every error
+ * is reported with its line number.
+ */
+@Service
+public class BulkImportService {
+
+    private final TeamService teamService;
+    private final MatchService matchService;
+    private final int chunkSize;
+
+    public BulkImportService(TeamService teamService,
+                             MatchService matchService,
+                             @Value("${championship.ingest.chunk-size:500}") int chunkSize) {
+        this.teamService = teamService;
+        this.matchService = matchService;
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportResult importTeams(BufferedReader reader) throws IOException {
+        return importLines(reader, 3, (tokens, lineNumber) -> {
+            CreateTeamDTO dto = new CreateTeamDTO();
+            dto.setName(tokens[0]);
+            dto.setRegistrationDate(tokens[1]);
+            dto.setGroupNumber(parseNumber(tokens[2], "group number"));
+            dto.setLineNumber(lineNumber);
+            return dto;
+        }, teamService::addTeams);
+    }
+
+    public ImportResult importMatches(BufferedReader reader) throws IOException {
+        return importLines(reader, 4, (tokens, lineNumber) -> {
+            CreateMatchDTO dto = new CreateMatchDTO();
+            dto.setTeamA(tokens[0]);
+            dto.setTeamB(tokens[1]);
+            dto.setTeamAScore(parseNumber(tokens[2], "team A goals"));
+            dto.setTeamBScore(parseNumber(tokens[3], "team B goals"));
+            dto.setLineNumber(lineNumber);
+            return dto;
+        }, matchService::addMatch);
+    }
+
+    private interface LineParser<T> {
+        T parse(String[] tokens, int lineNumber);
+    }
+
+    private <T> ImportResult importLines(BufferedReader reader, int fieldCount, LineParser<T> parser,
+                                         Function<List<T>, ProcessingResult<?>> persister) throws IOException {
+        ImportResult result = new ImportResult();
+        List<T> chunk = new ArrayList<>(chunkSize);
+        String[] tokens = new String[fieldCount];
+        int lineNumber = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            int count = LineTokenizer.tokenize(line, tokens);
+            if (count == 0) {
+                continue;
+            }
+            result.setReceived(result.getReceived() + 1);
+
+            if (count != fieldCount) {
+                result.getErrors().add(String.format("Line %d: Expected %d fields but found %s", lineNumber, fieldCount, count < 0 ? "more" : count));
+                continue;
+            }
+            try {
+                chunk.add(parser.parse(tokens, lineNumber));
+            } catch (IllegalArgumentException e) {
+                result.getErrors().add(String.format("Line %d: %s", lineNumber, e.getMessage()));
+                continue;
+            }
+
+            if (chunk.size() >= chunkSize) {
+                persist(chunk, persister, result);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            persist(chunk, persister, result);
+        }
+        // Parse errors are known straight away, service errors only once their chunk is saved
+        result.getErrors().sort(Comparator.comparingInt(BulkImportService::lineNumberOf));
+        return result;
+    }
+
+    // Every error starts with "Line N:", anything else goes last
+    private static int lineNumberOf(String error) {
+        int colon = error.indexOf(':');
+        if (!error.startsWith("Line ") || colon < 0) {
+            return Integer.MAX_VALUE;
+        }
+        try {
+            return Integer.parseInt(error.substring("Line ".length(), colon));
+        } catch (NumberFormatException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    private <T> void persist(List<T> chunk, Function<List<T>, ProcessingResult<?>> persister, ImportResult result) {
+        ProcessingResult<?> processed = persister.apply(chunk);
+        result.setInserted(result.getInserted() + processed.getValidData().size());
+        result.getErrors().addAll(processed.getErrors());
+        chunk.clear();
+    }
+
+    private static int parseNumber(String token, String field) {
+        try {
+            return Integer.parseInt(token);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + token);
+        }
+    }
+}
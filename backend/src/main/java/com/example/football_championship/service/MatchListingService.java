@@ -0,0 +1,85 @@
+package com.example.football_championship.service;
+
+import com.example.football_championship.model.MatchSummary;
+import com.example.football_championship.repository.MatchRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes keyset-paginated match listings straight from the result set to the response,
+ * one match at a time, so a page of any size is never held in memory. The page has the
+ * same shape as {@link com.example.football_championship.DTO.CursorPage}, with the id of
+ * the last match as the cursor.
+ */
+@Service
+public class MatchListingService {
+
+    public static final int MAX_PAGE_SIZE = 100_000;
+
+    private final MatchRepository matchRepository;
+    private final ObjectMapper objectMapper;
+
+    public MatchListingService(MatchRepository matchRepository, ObjectMapper objectMapper) {
+        this.matchRepository = matchRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public void validatePage(String after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        parseCursor(after);
+    }
+
+    @Transactional(readOnly = true)
+    public void writePage(String after, int limit, OutputStream output) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(output);
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("items");
+
+        // One extra row tells whether there is a next page, it is read but not written
+        long[] lastId = {0};
+        int[] read = {0};
+        matchRepository.forEachAfter(parseCursor(after), limit + 1, match -> {
+            if (read[0] < limit) {
+                write(generator, match);
+                lastId[0] = match.id();
+            }
+            read[0]++;
+        });
+
+        generator.writeEndArray();
+        if (read[0] > limit) {
+            generator.writeStringField("nextCursor", String.valueOf(lastId[0]));
+        } else {
+            generator.writeNullField("nextCursor");
+        }
+        generator.writeEndObject();
+        generator.flush();
+    }
+
+    private void write(JsonGenerator generator, MatchSummary match) {
+        try {
+            generator.writeObject(match);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long parseCursor(String after) {
+        if (after == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(after);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + after);
+        }
+    }
+}
@@ -2,112 +2,163 @@ package com.example.football_championship.service;
 
 import com.example.football_championship.DTO.CreateMatchDTO;
 import com.example.football_championship.DTO.ProcessingResult;
-import com.example.football_championship.DTO.UpdateTeamDTO;
 import com.example.football_championship.audit.AuditLog;
+import com.example.football_championship.audit.AuditLogWriter;
+import com.example.football_championship.event.MatchesAddedEvent;
+import com.example.football_championship.metrics.IngestMetrics;
 import com.example.football_championship.model.Match;
-import com.example.football_championship.model.Team;
-import com.example.football_championship.repository.AuditLogRepository;
+import com.example.football_championship.model.TeamStatsDelta;
 import com.example.football_championship.repository.MatchRepository;
 
-import com.example.football_championship.utils.ValidationUtils;
+import com.example.football_championship.scoring.PointSystem;
+import com.example.football_championship.scoring.PointSystemRegistry;
+import com.example.football_championship.utils.BatchValidator;
+import com.example.football_championship.utils.ValidationException;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 @Service
 @Transactional
+@Timed(value = "championship.service", histogram = true)
 public class MatchService {
 
     @Autowired
     private MatchRepository matchRepository;
 
     @Autowired
-    private AuditLogRepository auditLogRepository;
+    private AuditLogWriter auditLogWriter;
 
     @Autowired
     private TeamService teamService;
 
-    public ProcessingResult<Match> addMatch(List<CreateMatchDTO> matchDTOList) {
+    @Autowired
+    private PointSystemRegistry pointSystemRegistry;
 
-        List<Match> validMatch = new ArrayList<>();
-        List<String> errorMessages = new ArrayList<>();
+    @Autowired
+    private IngestMetrics ingestMetrics;
 
-        matchDTOList.forEach(dto -> {
-            try {
-                String teamAName = dto.getTeamA();
-                String teamBName = dto.getTeamB();
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
-                if (teamAName.equals(teamBName)) {
-                    throw new IllegalArgumentException("Duplicate team name");
-                }
+    @Value("${championship.validation.parallel-threshold:1000}")
+    private int parallelThreshold = 1000;
 
-                Team teamA = teamService.getTeamDetails(teamAName);
-                Team teamB = teamService.getTeamDetails(teamBName);
+    public ProcessingResult<Match> addMatch(List<CreateMatchDTO> matchDTOList) {
+        long start = System.nanoTime();
 
-                int teamAGoals = dto.getTeamAScore();
-                int teamBGoals = dto.getTeamBScore();
+        List<Match> validMatch = new ArrayList<>();
+        // Errors keyed by input position, so they come out in input order whichever stage found them
+        Map<Integer, String> errors = new TreeMap<>();
+
+        // Pure validation and scoring first, only the results that pass reach the teams
+        PointSystem standard = pointSystemRegistry.getStandard();
+        PointSystem alternate = pointSystemRegistry.getAlternate();
+        List<BatchValidator.Outcome<ScoredMatch>> outcomes = BatchValidator.validate(matchDTOList, dto -> score(dto, standard, alternate), parallelThreshold);
+
+        // Check every team referenced by a valid result up front with one query
+        Set<String> teamNames = new HashSet<>();
+        outcomes.stream().filter(BatchValidator.Outcome::isValid).forEach(outcome -> {
+            teamNames.add(outcome.value().match().getTeamA());
+            teamNames.add(outcome.value().match().getTeamB());
+        });
+        Set<String> existingTeams = teamService.getExistingNames(teamNames);
+        // Sorted by name: every upload locks the team rows in the same order, so two uploads touching
+        // the same teams in opposite order wait for each other instead of deadlocking
+        Map<String, TeamStatsDelta> deltas = new TreeMap<>();
 
-                if (teamAGoals < 0 || teamBGoals < 0) {
-                    throw new IllegalArgumentException("score must be more than 0");
+        for (BatchValidator.Outcome<ScoredMatch> outcome : outcomes) {
+            CreateMatchDTO dto = matchDTOList.get(outcome.index());
+            try {
+                if (!outcome.isValid()) {
+                    throw outcome.error();
                 }
+                ScoredMatch scored = outcome.value();
+                requireTeam(existingTeams, dto.getTeamA());
+                requireTeam(existingTeams, dto.getTeamB());
 
-                List<Integer> standardMatchPoints = ValidationUtils.calculatePoints("STANDARD", teamAGoals, teamBGoals);
-                int teamAPoints = standardMatchPoints.get(0);
-                int teamBPoints = standardMatchPoints.get(1);
-
-                List<Integer> altMatchPoints = ValidationUtils.calculatePoints("ALTERNATE", teamAGoals, teamBGoals);
-                int teamAAltPoints = altMatchPoints.get(0);
-                int teamBAltPoints = altMatchPoints.get(1);
-
-                // Save updated teams to the database
-                UpdateTeamDTO updateTeamDTOA = new UpdateTeamDTO();
-                updateTeamDTOA.setTeamName(teamA.name);
-                updateTeamDTOA.matchPoints = teamAPoints;
-                updateTeamDTOA.totalGoals = teamAGoals;
-                updateTeamDTOA.alternatePoints = teamAAltPoints;
-                updateTeamDTOA.matchesPlayed = 1;
-
-                UpdateTeamDTO updateTeamDTOB = new UpdateTeamDTO();
-                updateTeamDTOB.setTeamName(teamB.name);
-                updateTeamDTOB.matchPoints = teamBPoints;
-                updateTeamDTOB.totalGoals = teamBGoals;
-                updateTeamDTOB.alternatePoints = teamBAltPoints;
-                updateTeamDTOB.matchesPlayed = 1;
-
-                teamService.updateTeamDetails("UPDATE", updateTeamDTOA);
-                teamService.updateTeamDetails("UPDATE", updateTeamDTOB);
-
-                Match match = new Match();
-                match.setTeamA(dto.getTeamA());
-                match.setTeamB(dto.getTeamB());
-                match.setTeamBScore(dto.getTeamBScore());
-                match.setTeamAScore(dto.getTeamAScore());
-                validMatch.add(match);
+                // Sum the results per team, the totals are added in SQL once for the whole batch
+                deltas.merge(dto.getTeamA(), TeamStatsDelta.ofMatch(dto.getTeamAScore(), scored.teamAPoints(), scored.teamAAltPoints()), TeamStatsDelta::plus);
+                deltas.merge(dto.getTeamB(), TeamStatsDelta.ofMatch(dto.getTeamBScore(), scored.teamBPoints(), scored.teamBAltPoints()), TeamStatsDelta::plus);
+                validMatch.add(scored.match());
 
             } catch (IllegalArgumentException e) {
+                ingestMetrics.validationError(IngestMetrics.MATCH, e);
                 String msg = String.format("Error processing match result for %s and %s: %s", dto.getTeamA(), dto.getTeamB(), e.getMessage());
-                errorMessages.add(msg);
+                if (dto.getLineNumber() != null) {
+                    msg = String.format("Line %d: %s", dto.getLineNumber(), msg);
+                }
+                errors.put(outcome.index(), msg);
             }
-        });
+        }
 
         ProcessingResult<Match> result = new ProcessingResult<>();
+        if (!deltas.isEmpty()) {
+            teamService.incrementStats(deltas);
+        }
         matchRepository.saveAll(validMatch);
+        if (!validMatch.isEmpty()) {
+            eventPublisher.publishEvent(new MatchesAddedEvent(validMatch.size()));
+        }
         createAuditLog("INSERT", "Match", validMatch.toString());
         result.setValidData(validMatch);
-        result.setErrors(errorMessages);
+        result.setErrors(new ArrayList<>(errors.values()));
+        ingestMetrics.recordBatch(IngestMetrics.MATCH, matchDTOList.size(), System.nanoTime() - start);
         return result;
     }
 
+    private record ScoredMatch(Match match, int teamAPoints, int teamBPoints, int teamAAltPoints, int teamBAltPoints) {
+    }
+
+    // Side-effect free, may run on several threads at once
+    private static ScoredMatch score(CreateMatchDTO dto, PointSystem standard, PointSystem alternate) {
+        if (dto.getTeamA() == null || dto.getTeamA().isBlank() || dto.getTeamB() == null || dto.getTeamB().isBlank()) {
+            throw new ValidationException(ValidationException.Reason.MISSING_TEAM, "Both team names are required");
+        }
+        if (dto.getTeamA().equals(dto.getTeamB())) {
+            throw new ValidationException(ValidationException.Reason.SAME_TEAM, "Duplicate team name");
+        }
+
+        int teamAGoals = dto.getTeamAScore();
+        int teamBGoals = dto.getTeamBScore();
+
+        if (teamAGoals < 0 || teamBGoals < 0) {
+            throw new ValidationException(ValidationException.Reason.NEGATIVE_SCORE, "score must be more than 0");
+        }
+
+        Match match = new Match();
+        match.setTeamA(dto.getTeamA());
+        match.setTeamB(dto.getTeamB());
+        match.setTeamBScore(teamBGoals);
+        match.setTeamAScore(teamAGoals);
+        return new ScoredMatch(match,
+                standard.pointsFor(teamAGoals, teamBGoals), standard.pointsFor(teamBGoals, teamAGoals),
+                alternate.pointsFor(teamAGoals, teamBGoals), alternate.pointsFor(teamBGoals, teamAGoals));
+    }
+
+    private void requireTeam(Set<String> existingTeams, String teamName) {
+        if (!existingTeams.contains(teamName)) {
+            throw new ValidationException(ValidationException.Reason.UNKNOWN_TEAM, teamName + " do not exists");
+        }
+    }
+
     public void createAuditLog(String action, String entityName, String details) {
         AuditLog log = new AuditLog();
         log.setAction(action);
         log.setEntityName(entityName);
         log.setDetails(details);
         log.setTimestamp(LocalDateTime.now());
-        auditLogRepository.save(log);
+        auditLogWriter.enqueue(log);
     }
 }
@@ -0,0 +1,129 @@
+package com.example.football_championship.service;
+
+import com.example.football_championship.DTO.CreateMatchDTO;
+import com.example.football_championship.DTO.ProcessingResult;
+import com.example.football_championship.model.Match;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ingests newline-delimited match results without holding the whole upload in memory.
+ * Records are parsed one line at a time and handed to {@link MatchService} in fixed-size
+ * chunks, each committed in its own transaction. Results are written back as NDJSON
+ * after every chunk.
+ */
+@Service
+public class MatchStreamService {
+
+    private final MatchService matchService;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader matchReader;
+    private final int chunkSize;
+
+    public MatchStreamService(MatchService matchService,
+                              ObjectMapper objectMapper,
+                              @Value("${championship.ingest.chunk-size:500}") int chunkSize) {
+        this.matchService = matchService;
+        this.objectMapper = objectMapper;
+        this.matchReader = objectMapper.readerFor(CreateMatchDTO.class);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @param summaryOnly when true only error lines and the final summary are written,
+     *                    otherwise every persisted match is echoed back as well
+     */
+    public void ingest(InputStream input, OutputStream output, boolean summaryOnly) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(output);
+        generator.setRootValueSeparator(null);
+
+        List<CreateMatchDTO> chunk = new ArrayList<>(chunkSize);
+        int lineNumber = 0;
+        int received = 0;
+        int inserted = 0;
+        int failed = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            received++;
+
+            try {
+                CreateMatchDTO dto = matchReader.readValue(line);
+                if (dto == null) {
+                    // A literal null parses fine but carries no record
+                    failed++;
+                    writeError(generator, String.format("Line %d: Malformed record: expected an object", lineNumber));
+                    continue;
+                }
+                dto.setLineNumber(lineNumber);
+                chunk.add(dto);
+            } catch (JsonProcessingException e) {
+                failed++;
+                writeError(generator, String.format("Line %d: Malformed record: %s", lineNumber, e.getOriginalMessage()));
+            }
+
+            if (chunk.size() >= chunkSize) {
+                int[] counts = processChunk(chunk, generator, summaryOnly);
+                inserted += counts[0];
+                failed += counts[1];
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            int[] counts = processChunk(chunk, generator, summaryOnly);
+            inserted += counts[0];
+            failed += counts[1];
+        }
+
+        generator.writeStartObject();
+        generator.writeNumberField("received", received);
+        generator.writeNumberField("inserted", inserted);
+        generator.writeNumberField("failed", failed);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+        generator.flush();
+    }
+
+    private int[] processChunk(List<CreateMatchDTO> chunk, JsonGenerator generator, boolean summaryOnly) throws IOException {
+        ProcessingResult<Match> result = matchService.addMatch(chunk);
+        chunk.clear();
+
+        if (!summaryOnly) {
+            for (Match match : result.getValidData()) {
+                generator.writeObject(match);
+                generator.writeRaw('\n');
+            }
+        }
+        for (String error : result.getErrors()) {
+            writeError(generator, error);
+        }
+        // Push this chunk's results to the client before reading further
+        generator.flush();
+        return new int[]{result.getValidData().size(), result.getErrors().size()};
+    }
+
+    private void writeError(JsonGenerator generator, String message) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("error", message);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.football_championship.service;
+
+import com.example.football_championship.comparator.TeamSnapshotRankingComparator;
+import com.example.football_championship.event.TeamChangedEvent;
+import com.example.football_championship.model.Team;
+import com.example.football_championship.model.TeamSnapshot;
+import com.example.football_championship.repository.TeamRepository;
+import com.example.football_championship.standings.OrderStatisticTree;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory standings for every group, kept in ranking order so rank, top-N and
+ * qualification queries never go to the database. Loaded from the team table at
+ * startup and updated incrementally once team changes are committed. After-commit events
+ * from concurrent transactions can arrive out of order, so an event whose team version is
+ * not newer than the one already applied is ignored.
+ */
+@Service
+public class StandingsService {
+
+    private static final TeamSnapshotRankingComparator RANKING_ORDER = new TeamSnapshotRankingComparator();
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    private final Map<Integer, OrderStatisticTree<TeamSnapshot>> groups = new HashMap<>();
+    private final Map<String, TeamSnapshot> teamsByName = new HashMap<>();
+    // Last applied version per team id, Long.MAX_VALUE once the team is deleted
+    private final Map<Long, Long> versions = new HashMap<>();
+    // Value of changeCount at each group's last change, never reset so an equal value means nothing moved
+    private final Map<Integer, Long> groupChanges = new HashMap<>();
+    private long changeCount;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    public void rebuild() {
+        rebuild(teamRepository.findAll());
+    }
+
+    public void rebuild(Collection<Team> teams) {
+        lock.writeLock().lock();
+        try {
+            groups.keySet().forEach(this::touch);
+            groups.clear();
+            teamsByName.clear();
+            versions.clear();
+            teams.forEach(team -> add(TeamSnapshot.of(team)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ahead of listeners that read ranks, such as the standings stream
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamChanged(TeamChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (isStale(event)) {
+                return;
+            }
+            if (event.previousName() != null) {
+                remove(event.previousName());
+            }
+            if (event.current() != null) {
+                // Covers renames too, the previous entry has been removed above
+                remove(event.current().name());
+                add(event.current());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean hasGroup(int groupNumber) {
+        lock.readLock().lock();
+        try {
+            OrderStatisticTree<TeamSnapshot> standings = groups.get(groupNumber);
+            return standings != null && !standings.isEmpty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<TeamSnapshot> getRanking(int groupNumber) {
+        lock.readLock().lock();
+        try {
+            OrderStatisticTree<TeamSnapshot> standings = groups.get(groupNumber);
+            return standings == null ? Collections.emptyList() : standings.toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<TeamSnapshot> getTopTeams(int groupNumber, int count) {
+        lock.readLock().lock();
+        try {
+            OrderStatisticTree<TeamSnapshot> standings = groups.get(groupNumber);
+            return standings == null ? Collections.emptyList() : standings.range(0, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} teams in ranking order, starting right after {@code after}. The
+     * cursor only needs the ranking keys, so paging stays stable while teams move around.
+     */
+    public List<TeamSnapshot> getRankingAfter(int groupNumber, TeamSnapshot after, int limit) {
+        lock.readLock().lock();
+        try {
+            OrderStatisticTree<TeamSnapshot> standings = groups.get(groupNumber);
+            if (standings == null) {
+                return Collections.emptyList();
+            }
+            return standings.range(after == null ? 0 : standings.headSize(after, true), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * One-based position of the team within its group, empty if the team is unknown.
+     */
+    public OptionalInt getRank(String teamName) {
+        lock.readLock().lock();
+        try {
+            TeamSnapshot team = teamsByName.get(teamName);
+            if (team == null) {
+                return OptionalInt.empty();
+            }
+            return OptionalInt.of(groups.get(team.groupNumber()).rank(team) + 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Changes whenever a team is added to or removed from the group. Two equal readings
+     * mean the group's ranking has not moved in between.
+     */
+    public long getChangeCount(int groupNumber) {
+        lock.readLock().lock();
+        try {
+            return groupChanges.getOrDefault(groupNumber, 0L);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean qualifies(String teamName, int groupNumber, int qualifyingTeams) {
+        lock.readLock().lock();
+        try {
+            TeamSnapshot team = teamsByName.get(teamName);
+            if (team == null || team.groupNumber() != groupNumber) {
+                return false;
+            }
+            return groups.get(groupNumber).rank(team) < qualifyingTeams;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean isStale(TeamChangedEvent event) {
+        TeamSnapshot current = event.current();
+        if (current == null) {
+            // A late update for a deleted team must not bring it back
+            TeamSnapshot existing = teamsByName.get(event.previousName());
+            if (existing != null && existing.id() != null) {
+                versions.put(existing.id(), Long.MAX_VALUE);
+            }
+            return false;
+        }
+        if (current.id() == null) {
+            return false;
+        }
+        Long applied = versions.get(current.id());
+        return applied != null && applied >= current.version();
+    }
+
+    private void add(TeamSnapshot team) {
+        if (team.id() != null) {
+            versions.put(team.id(), team.version());
+        }
+        groups.computeIfAbsent(team.groupNumber(), group -> new OrderStatisticTree<>(RANKING_ORDER)).insert(team);
+        teamsByName.put(team.name(), team);
+        touch(team.groupNumber());
+    }
+
+    private void remove(String teamName) {
+        TeamSnapshot existing = teamsByName.remove(teamName);
+        if (existing != null) {
+            groups.get(existing.groupNumber()).remove(existing);
+            touch(existing.groupNumber());
+        }
+    }
+
+    private void touch(int groupNumber) {
+        groupChanges.put(groupNumber, ++changeCount);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.football_championship.service;
+
+import com.example.football_championship.audit.AuditLog;
+import com.example.football_championship.audit.AuditLogWriter;
+import com.example.football_championship.event.TeamChangedEvent;
+import com.example.football_championship.model.TeamStatsDrift;
+import com.example.football_championship.repository.TeamRepository;
+import com.example.football_championship.scoring.PointSystem;
+import com.example.football_championship.scoring.PointSystemRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Checks the incrementally maintained team totals against the match table. The expected
+ * totals come from one set-based aggregation in the database, so the check costs a single
+ * scan of the matches however many there are, and a repair is a single bulk statement.
+ * Matches reference teams by name; renames are carried over to the match rows, so they do not show up as drift.
+ */
+@Service
+@Transactional
+public class StandingsVerificationService {
+
+    public record Report(int drifted, int repaired, List<TeamStatsDrift> drifts, long elapsedMs, LocalDateTime checkedAt) {
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(StandingsVerificationService.class);
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private PointSystemRegistry pointSystemRegistry;
+
+    @Autowired
+    private AuditLogWriter auditLogWriter;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public Report verify(boolean repair) {
+        long start = System.nanoTime();
+        PointSystem standard = pointSystemRegistry.getStandard();
+        PointSystem alternate = pointSystemRegistry.getAlternate();
+
+        List<TeamStatsDrift> drifts = teamRepository.findStatsDrift(standard, alternate);
+        List<TeamStatsDrift> repaired = List.of();
+        if (repair && !drifts.isEmpty()) {
+            repaired = teamRepository.repairStats(standard, alternate, drifts.stream().map(drift -> drift.stored().id()).toList());
+            // Standings, cache and ETags pick the corrected totals up once this commits
+            repaired.forEach(drift -> eventPublisher.publishEvent(TeamChangedEvent.saved(drift.expected().name(), drift.expected())));
+            createAuditLog("REPAIR", "Team", repaired.stream().map(drift -> drift.expected().name()).toList().toString());
+        }
+        return new Report(drifts.size(), repaired.size(), drifts, (System.nanoTime() - start) / 1_000_000, LocalDateTime.now());
+    }
+
+    @Scheduled(cron = "${championship.standings.verify-cron:-}")
+    public void verifyScheduled() {
+        Report report = verify(false);
+        if (report.drifted() > 0) {
+            log.warn("{} teams have totals that do not match their matches: {}", report.drifted(),
+                    report.drifts().stream().map(drift -> drift.stored().name()).toList());
+        }
+    }
+
+    private void createAuditLog(String action, String entityName, String details) {
+        AuditLog log = new AuditLog();
+        log.setAction(action);
+        log.setEntityName(entityName);
+        log.setDetails(details);
+        log.setTimestamp(LocalDateTime.now());
+        auditLogWriter.enqueue(log);
+    }
+}
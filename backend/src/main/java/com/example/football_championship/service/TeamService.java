@@ -1,18 +1,37 @@
 package com.example.football_championship.service;
 
 import com.example.football_championship.DTO.CreateTeamDTO;
+import com.example.football_championship.DTO.CursorPage;
+import com.example.football_championship.DTO.GroupStandings;
 import com.example.football_championship.DTO.ProcessingResult;
+import com.example.football_championship.DTO.TeamStanding;
+import com.example.football_championship.DTO.TeamView;
 import com.example.football_championship.DTO.UpdateTeamDTO;
 import com.example.football_championship.audit.AuditLog;
-import com.example.football_championship.comparator.TeamRankingComparator;
+import com.example.football_championship.audit.AuditLogWriter;
+import com.example.football_championship.cache.TeamCache;
+import com.example.football_championship.event.TeamChangedEvent;
+import com.example.football_championship.metrics.IngestMetrics;
+import com.example.football_championship.model.RankedTeam;
 import com.example.football_championship.model.Team;
-import com.example.football_championship.repository.AuditLogRepository;
+import com.example.football_championship.model.TeamSnapshot;
+import com.example.football_championship.model.TeamStatsDelta;
+import com.example.football_championship.repository.MatchRepository;
 import com.example.football_championship.repository.TeamRepository;
 
+import com.example.football_championship.utils.BatchValidator;
+import com.example.football_championship.utils.RankingCursor;
+import com.example.football_championship.utils.ValidationException;
 import com.example.football_championship.utils.ValidationUtils;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -20,12 +39,40 @@ import java.util.*;
 
 @Service
 @Transactional
+@Timed(value = "championship.service", histogram = true)
 public class TeamService {
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
+    private static final int MAX_PAGE_SIZE = 1000;
+
     @Autowired
     private TeamRepository teamRepository;
 
     @Autowired
-    private AuditLogRepository auditLogRepository;
+    private AuditLogWriter auditLogWriter;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private StandingsService standingsService;
+
+    @Autowired
+    private TeamCache teamCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private IngestMetrics ingestMetrics;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${championship.validation.parallel-threshold:1000}")
+    private int parallelThreshold = 1000;
+
+    @Value("${championship.qualification.cutoff:4}")
+    private int qualifyingTeams = 4;
 
     public void createAuditLog(String action, String entityName, String details) {
         AuditLog log = new AuditLog();
@@ -33,59 +80,104 @@ public class TeamService {
         log.setEntityName(entityName);
         log.setDetails(details);
         log.setTimestamp(LocalDateTime.now());
-        auditLogRepository.save(log);
+        auditLogWriter.enqueue(log);
     }
 
     public ProcessingResult<Team> addTeams(List<CreateTeamDTO> teamDTOs) {
-        List<Team> validTeams = new ArrayList<>();
-        List<String> errorMessages = new ArrayList<>();
-
-        teamDTOs.forEach(dto -> {
-            try {
-                // Validate date and create the team object
-                LocalDate date = ValidationUtils.validateDate(dto.getRegistrationDate());
+        long start = System.nanoTime();
+        // Errors keyed by input position, so they come out in input order whichever stage found them
+        Map<Integer, String> errors = new TreeMap<>();
+        int currentYear = LocalDate.now().getYear();
 
-                String teamName = dto.getName();
-                if (teamRepository.findByName(teamName).isPresent()) {
-                    throw new IllegalArgumentException("Team name already exists");
-                }
+        // Pure validation first, then only the valid teams reach the database
+        List<BatchValidator.Outcome<Team>> outcomes = BatchValidator.validate(teamDTOs, dto -> toTeam(dto, currentYear), parallelThreshold);
 
-                int groupNum = dto.getGroupNumber();
-                if (groupNum > 2 || groupNum < 1) {
-                    throw new IllegalArgumentException("Group number should either be 1 or 2 ");
-                }
-
-                Team team = new Team();
-                team.setName(teamName);
-                team.setRegistrationDate(date);
-                team.setGroupNumber(groupNum);
-
-                // Add to the list of valid teams
-                validTeams.add(team);
-            } catch (IllegalArgumentException e) {
-                String msg = String.format("Error processing team for %s: %s", dto.getName(), e.getMessage());
-                errorMessages.add(msg);
+        List<Team> validTeams = new ArrayList<>();
+        Map<Team, Integer> positions = new IdentityHashMap<>();
+        Set<String> names = new HashSet<>();
+        for (BatchValidator.Outcome<Team> outcome : outcomes) {
+            IllegalArgumentException error = outcome.error();
+            if (error == null && !names.add(outcome.value().name)) {
+                // The first team with a name wins within the batch
+                error = new ValidationException(ValidationException.Reason.DUPLICATE_NAME, "Team name already exists");
+            }
+            if (error != null) {
+                ingestMetrics.validationError(IngestMetrics.TEAM, error);
+                errors.put(outcome.index(), teamError(teamDTOs.get(outcome.index()), error.getMessage()));
+            } else {
+                validTeams.add(outcome.value());
+                positions.put(outcome.value(), outcome.index());
             }
-        });
+        }
+
+        // Names already in the table are left to the unique index: one insert per chunk, existing names are skipped
+        List<Team> insertedTeams = validTeams.isEmpty() ? new ArrayList<>() : teamRepository.insertIgnoringDuplicates(validTeams);
+        if (insertedTeams.size() < validTeams.size()) {
+            Set<Team> inserted = Collections.newSetFromMap(new IdentityHashMap<>());
+            inserted.addAll(insertedTeams);
+            validTeams.stream()
+                    .filter(team -> !inserted.contains(team))
+                    .forEach(team -> {
+                        ValidationException e = new ValidationException(ValidationException.Reason.DUPLICATE_NAME, "Team name already exists");
+                        ingestMetrics.validationError(IngestMetrics.TEAM, e);
+                        int index = positions.get(team);
+                        errors.put(index, teamError(teamDTOs.get(index), e.getMessage()));
+                    });
+        }
 
         ProcessingResult<Team> result = new ProcessingResult<>();
-        teamRepository.saveAll(validTeams);
-        createAuditLog("INSERT", "Team", validTeams.toString());
-        result.setValidData(validTeams);
-        result.setErrors(errorMessages);
+        insertedTeams.forEach(team -> publishTeamChanged(null, team));
+        createAuditLog("INSERT", "Team", insertedTeams.toString());
+        result.setValidData(insertedTeams);
+        result.setErrors(new ArrayList<>(errors.values()));
+        ingestMetrics.recordBatch(IngestMetrics.TEAM, teamDTOs.size(), System.nanoTime() - start);
         return result;
     }
 
-    public Team getTeamDetails(String name) {
-        System.out.println("retrieving info for team: " + name);
-        Optional<Team> team = teamRepository.findByName(name);
+    // Side-effect free, may run on several threads at once
+    private static Team toTeam(CreateTeamDTO dto, int currentYear) {
+        LocalDate date = ValidationUtils.validateDate(dto.getRegistrationDate(), currentYear);
+
+        Integer groupNum = dto.getGroupNumber();
+        if (groupNum == null || groupNum > 2 || groupNum < 1) {
+            throw new ValidationException(ValidationException.Reason.INVALID_GROUP, "Group number should either be 1 or 2 ");
+        }
+
+        Team team = new Team();
+        team.setName(dto.getName());
+        team.setRegistrationDate(date);
+        team.setGroupNumber(groupNum);
+        return team;
+    }
+
+    @Transactional(readOnly = true)
+    public TeamView getTeamDetails(String name) {
+        Optional<TeamSnapshot> team = teamCache.get(name, teamRepository::findSnapshotByName);
 
         if (team.isEmpty()) {
             throw new NoSuchElementException(name + " do not exists");
         }
 
-        createAuditLog("GET", "Team", team.get().name);
-        return team.get();
+        createAuditLog("GET", "Team", team.get().name());
+        return TeamView.of(team.get());
+    }
+
+    public Set<String> getExistingNames(Collection<String> names) {
+        if (names.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        // Single IN (...) query for the whole batch instead of one lookup per name; the totals are
+        // added in SQL, so only the names are needed
+        return new HashSet<>(teamRepository.findNamesIn(names));
+    }
+
+    public List<TeamSnapshot> incrementStats(Map<String, TeamStatsDelta> deltas) {
+        // One UPDATE ... SET col = col + ? per team, concurrent uploads for the same team add up
+        List<TeamSnapshot> teamsUpdated = teamRepository.incrementStats(deltas);
+        teamsUpdated.forEach(team -> eventPublisher.publishEvent(TeamChangedEvent.saved(team.name(), team)));
+        createAuditLog("UPDATE", "Team", teamsUpdated.stream().map(TeamSnapshot::toTeam).toList().toString());
+        return teamsUpdated;
     }
 
     public boolean deleteTeamByName(String name) {
@@ -93,6 +185,7 @@ public class TeamService {
 
         if (team.isPresent()) {
             teamRepository.deleteByName(name);
+            eventPublisher.publishEvent(TeamChangedEvent.deleted(name, team.get().groupNumber));
             createAuditLog("DELETE", "Team", team.get().name);
             return true;
         } else {
@@ -100,14 +193,29 @@ public class TeamService {
         }
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Team updateTeamDetails(String operation, UpdateTeamDTO updateTeamDTO) {
+        // Each attempt gets its own transaction, a version conflict re-reads the team and tries again
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> applyTeamUpdate(operation, updateTeamDTO));
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= MAX_UPDATE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private Team applyTeamUpdate(String operation, UpdateTeamDTO updateTeamDTO) {
         Optional<Team> team = teamRepository.findByName(updateTeamDTO.getTeamName());
 
         if (team.isPresent()) {
             Team existingTeam = team.get();
+            int previousGroupNumber = existingTeam.getGroupNumber();
             // Update the team details with the new values
             String newName = updateTeamDTO.getNewName();
-            if (teamRepository.findByName(newName).isPresent()) {
+            if (newName != null && teamRepository.findByName(newName).isPresent()) {
                 throw new IllegalArgumentException("Team name already taken");
             }
 
@@ -116,31 +224,31 @@ public class TeamService {
             existingTeam.setGroupNumber(updateTeamDTO.getGroupNumber() != null ? updateTeamDTO.getGroupNumber() : existingTeam.getGroupNumber());
             switch (operation) {
                 case "UPDATE":
-                    try {
-                        existingTeam.setTotalGoals(existingTeam != null ? updateTeamDTO.getTotalGoals() + existingTeam.totalGoals : updateTeamDTO.getTotalGoals());
-                        existingTeam.setMatchPoints(existingTeam != null ? updateTeamDTO.getMatchPoints() + existingTeam.matchPoints: updateTeamDTO.getMatchPoints());
-                        existingTeam.setAlternatePoints(existingTeam != null ? updateTeamDTO.getAlternatePoints() + existingTeam.alternatePoints: updateTeamDTO.getAlternatePoints());
-                        existingTeam.setMatchesPlayed(existingTeam != null ? updateTeamDTO.getMatchesPlayed() + existingTeam.matchesPlayed: updateTeamDTO.getMatchesPlayed());
-                        // Save the updated team back to the database
-                        Team teamUpdated = teamRepository.save(existingTeam);
-                        createAuditLog("UPDATE", "Team", existingTeam.name);
-                        return teamUpdated;
-                    } catch (Exception e) {
-                        throw new RuntimeException("Team not found with name: " + existingTeam.name);
+                    // Name, date and group go through the version check; the stats are added in SQL afterwards
+                    // Version conflicts and unique-name violations propagate as they are, the client gets a 409
+                    teamRepository.saveAndFlush(existingTeam);
+                    renameMatches(updateTeamDTO.getTeamName(), existingTeam.name);
+                    TeamStatsDelta delta = new TeamStatsDelta(orZero(updateTeamDTO.getTotalGoals()), orZero(updateTeamDTO.getMatchPoints()),
+                            orZero(updateTeamDTO.getAlternatePoints()), orZero(updateTeamDTO.getMatchesPlayed()));
+                    List<TeamSnapshot> updated = teamRepository.incrementStats(Map.of(existingTeam.name, delta));
+                    if (updated.isEmpty()) {
+                        throw new NoSuchElementException("Team not found with name: " + existingTeam.name);
                     }
+                    TeamSnapshot statsUpdated = updated.get(0);
+                    eventPublisher.publishEvent(TeamChangedEvent.saved(updateTeamDTO.getTeamName(), previousGroupNumber, statsUpdated));
+                    createAuditLog("UPDATE", "Team", existingTeam.name);
+                    return statsUpdated.toTeam();
                 case "EDIT":
-                    try {
-                        existingTeam.setTotalGoals(updateTeamDTO.getTotalGoals() != null ? updateTeamDTO.getTotalGoals(): existingTeam.totalGoals);
-                        existingTeam.setMatchPoints(updateTeamDTO.getMatchPoints() != null ? updateTeamDTO.getMatchPoints(): existingTeam.matchPoints);
-                        existingTeam.setAlternatePoints(updateTeamDTO.getAlternatePoints() != null ? updateTeamDTO.getAlternatePoints(): existingTeam.alternatePoints);
-                        existingTeam.setMatchesPlayed(updateTeamDTO.getMatchesPlayed() != null ? updateTeamDTO.getMatchesPlayed() : existingTeam.matchesPlayed);
-                        // Save the updated team back to the database
-                        Team teamUpdated = teamRepository.save(existingTeam);
-                        createAuditLog("EDIT", "Team", existingTeam.name);
-                        return teamUpdated;
-                    } catch (Exception e) {
-                        throw new RuntimeException("Team not found with name: " + existingTeam.name);
-                    }
+                    existingTeam.setTotalGoals(updateTeamDTO.getTotalGoals() != null ? updateTeamDTO.getTotalGoals(): existingTeam.totalGoals);
+                    existingTeam.setMatchPoints(updateTeamDTO.getMatchPoints() != null ? updateTeamDTO.getMatchPoints(): existingTeam.matchPoints);
+                    existingTeam.setAlternatePoints(updateTeamDTO.getAlternatePoints() != null ? updateTeamDTO.getAlternatePoints(): existingTeam.alternatePoints);
+                    existingTeam.setMatchesPlayed(updateTeamDTO.getMatchesPlayed() != null ? updateTeamDTO.getMatchesPlayed() : existingTeam.matchesPlayed);
+                    // Flushed so the event carries the bumped version, listeners drop snapshots older than what they hold
+                    Team teamUpdated = teamRepository.saveAndFlush(existingTeam);
+                    renameMatches(updateTeamDTO.getTeamName(), existingTeam.name);
+                    eventPublisher.publishEvent(TeamChangedEvent.saved(updateTeamDTO.getTeamName(), previousGroupNumber, TeamSnapshot.of(teamUpdated)));
+                    createAuditLog("EDIT", "Team", existingTeam.name);
+                    return teamUpdated;
                 default:
                     return null;
             }
@@ -149,28 +257,100 @@ public class TeamService {
         }
     }
 
-    public List<Team> getRankingsByGroup(int groupNumber) {
-        List<Team> teams = teamRepository.findByGroupNumber(groupNumber).orElseThrow(
-                () -> new NoSuchElementException("Such group number does not exist"));
+    // Same transaction as the rename, so the match rows and the team never disagree on the name
+    private void renameMatches(String previousName, String name) {
+        if (!previousName.equals(name)) {
+            matchRepository.renameTeam(previousName, name);
+        }
+    }
+
+    public List<TeamView> getRankingsByGroup(int groupNumber) {
+        // Served from the in-memory standings, already kept in ranking order
+        List<TeamSnapshot> ranking = standingsService.getRanking(groupNumber);
 
-        if (teams.isEmpty()) {
+        if (ranking.isEmpty()) {
             throw new NoSuchElementException("Such group number does not exist");
         } else {
-            Collections.sort(teams, new TeamRankingComparator());
             createAuditLog("GET", "Team", "Get ranking for teams");
-            return teams;
+            return ranking.stream().map(TeamView::of).toList();
         }
     }
 
+    public CursorPage<TeamView> getRankingPage(int groupNumber, String after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (!standingsService.hasGroup(groupNumber)) {
+            throw new NoSuchElementException("Such group number does not exist");
+        }
+
+        // One extra team tells whether there is a next page
+        TeamSnapshot cursor = after != null ? RankingCursor.decode(after, groupNumber) : null;
+        List<TeamSnapshot> ranking = standingsService.getRankingAfter(groupNumber, cursor, limit + 1);
+        List<TeamSnapshot> page = ranking.size() > limit ? ranking.subList(0, limit) : ranking;
+        String nextCursor = ranking.size() > limit ? RankingCursor.encode(page.get(page.size() - 1)) : null;
+
+        createAuditLog("GET", "Team", "Get ranking for teams");
+        return new CursorPage<>(page.stream().map(TeamView::of).toList(), nextCursor);
+    }
+
     public boolean getOutcomeForTeam(String teamName, int groupNumber) {
-        List<Team> teams = getRankingsByGroup(groupNumber);
+        if (!standingsService.hasGroup(groupNumber)) {
+            throw new NoSuchElementException("Such group number does not exist");
+        }
+
+        createAuditLog("GET", "Team", "Get ranking for teams");
+        return standingsService.qualifies(teamName, groupNumber, qualifyingTeams);
+    }
 
-        for (int i = 0; i < teams.size(); i++) {
-            Team currTeam = teams.get(i);
-            if (currTeam.name.equals(teamName) && i < 4) {
-                return true;
+    @Transactional(readOnly = true)
+    public List<GroupStandings> getTournamentStandings() {
+        List<GroupStandings> standings = new ArrayList<>();
+        List<TeamView> teams = new ArrayList<>();
+        List<String> qualifiers = new ArrayList<>();
+        // Rows arrive group by group in ranking order, so each group is closed when the next one starts
+        for (RankedTeam ranked : teamRepository.findAllRanked()) {
+            if (!teams.isEmpty() && teams.get(0).groupNumber() != ranked.team().groupNumber()) {
+                standings.add(new GroupStandings(teams.get(0).groupNumber(), teams, qualifiers));
+                teams = new ArrayList<>();
+                qualifiers = new ArrayList<>();
             }
+            teams.add(TeamView.of(ranked.team()));
+            if (ranked.rank() <= qualifyingTeams) {
+                qualifiers.add(ranked.team().name());
+            }
+        }
+        if (!teams.isEmpty()) {
+            standings.add(new GroupStandings(teams.get(0).groupNumber(), teams, qualifiers));
+        }
+
+        createAuditLog("GET", "Team", "Get standings for all groups");
+        return standings;
+    }
+
+    @Transactional(readOnly = true)
+    public TeamStanding getStanding(String teamName, int groupNumber) {
+        // Counted against the committed table, so it already reflects a result saved a moment ago
+        int rank = teamRepository.findRank(teamName, groupNumber)
+                .orElseThrow(() -> new NoSuchElementException("Team " + teamName + " is not in group " + groupNumber));
+
+        createAuditLog("GET", "Team", "Get standing for " + teamName);
+        return new TeamStanding(teamName, groupNumber, rank, rank <= qualifyingTeams);
+    }
+
+    private String teamError(CreateTeamDTO dto, String reason) {
+        String msg = String.format("Error processing team for %s: %s", dto.getName(), reason);
+        if (dto.getLineNumber() != null) {
+            msg = String.format("Line %d: %s", dto.getLineNumber(), msg);
         }
-        return false;
+        return msg;
+    }
+
+    private static int orZero(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private void publishTeamChanged(String previousName, Team team) {
+        eventPublisher.publishEvent(TeamChangedEvent.saved(previousName, TeamSnapshot.of(team)));
     }
 }
@@ -0,0 +1,231 @@
+package com.example.football_championship.standings;
+
+import com.example.football_championship.DTO.StandingsDelta;
+import com.example.football_championship.event.TeamChangedEvent;
+import com.example.football_championship.model.TeamSnapshot;
+import com.example.football_championship.service.StandingsService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes standings deltas to Server-Sent Events subscribers once team changes are committed:
+ * the changed team and every team of its group whose rank moved because of it.
+ * Publishing only offers the delta to each subscriber's bounded queue; a sender task per
+ * subscriber drains the queue, so a slow client never holds up a commit or other clients.
+ * A subscriber whose queue is full has fallen too far behind and is disconnected, the
+ * browser's EventSource reconnects and can reload the standings.
+ */
+@Component
+public class StandingsStream {
+
+    public static final String EVENT_NAME = "standings";
+
+    private static final Logger log = LoggerFactory.getLogger(StandingsStream.class);
+
+    private final StandingsService standingsService;
+    private final int queueCapacity;
+    private final long timeoutMs;
+    private final ExecutorService senders;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Last delta sent per team, by group, and the group's change count when it was diffed; guarded by this
+    private final Map<Integer, Map<String, StandingsDelta>> published = new HashMap<>();
+    private final Map<Integer, Long> publishedChanges = new HashMap<>();
+    private final Counter evictedCounter;
+
+    public StandingsStream(StandingsService standingsService,
+                           MeterRegistry meterRegistry,
+                           @Value("${championship.stream.queue-capacity:256}") int queueCapacity,
+                           @Value("${championship.stream.timeout-ms:1800000}") long timeoutMs,
+                           @Value("${championship.stream.sender-threads:8}") int senderThreads,
+                           @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.standingsService = standingsService;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMs = timeoutMs;
+        this.senders = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("standings-sse-", 0).factory())
+                : Executors.newFixedThreadPool(senderThreads, Thread.ofPlatform().name("standings-sse-", 0).daemon(true).factory());
+
+        Gauge.builder("championship.stream.subscribers", subscribers, Set::size)
+                .description("Open standings event streams")
+                .register(meterRegistry);
+        this.evictedCounter = Counter.builder("championship.stream.evicted")
+                .description("Standings subscribers disconnected for falling behind")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of deltas for one group, or for every group when {@code groupNumber} is null.
+     */
+    public SseEmitter subscribe(Integer groupNumber) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        subscribe(groupNumber, emitter);
+        return emitter;
+    }
+
+    void subscribe(Integer groupNumber, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(groupNumber, emitter, new ArrayBlockingQueue<>(queueCapacity));
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    // After StandingsService has applied the change, so the ranks read here are the new ones
+    @Order(10)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTeamChanged(TeamChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            // Nobody to diff for, start over from the standings once someone subscribes
+            published.clear();
+            publishedChanges.clear();
+            return;
+        }
+        boolean movedAway = event.previousName() != null && (event.current() == null
+                || !event.current().name().equals(event.previousName())
+                || event.current().groupNumber() != event.previousGroupNumber());
+        if (movedAway) {
+            Map<String, StandingsDelta> group = published.get(event.previousGroupNumber());
+            // Already sent if an earlier diff of the group saw the team gone
+            if (group == null || group.remove(event.previousName()) != null) {
+                publish(StandingsDelta.removed(event.previousName(), event.previousGroupNumber()));
+            }
+        }
+        if (event.current() != null) {
+            publishChanges(event.current().groupNumber(), event.current().name());
+        }
+        // The teams left behind move up
+        if (movedAway && (event.current() == null || event.current().groupNumber() != event.previousGroupNumber())) {
+            publishChanges(event.previousGroupNumber(), null);
+        }
+    }
+
+    /**
+     * Sends a delta for every team of the group whose rank or totals differ from what was last
+     * sent, so teams pushed down by the change are updated too. The events of one transaction
+     * all reach the standings before the first of them gets here, so the first diff already
+     * covers both sides of a match and the rest find the group unchanged.
+     */
+    private void publishChanges(int groupNumber, String changedTeam) {
+        // Read before the ranking, a change landing in between is diffed again on its own event
+        long changeCount = standingsService.getChangeCount(groupNumber);
+        Long diffed = publishedChanges.put(groupNumber, changeCount);
+        Map<String, StandingsDelta> previous = published.get(groupNumber);
+        if (previous != null && diffed != null && diffed == changeCount) {
+            return;
+        }
+
+        List<TeamSnapshot> ranking = standingsService.getRanking(groupNumber);
+        Map<String, StandingsDelta> current = new HashMap<>(ranking.size() * 2);
+        List<StandingsDelta> changed = new ArrayList<>();
+        for (int i = 0; i < ranking.size(); i++) {
+            StandingsDelta delta = StandingsDelta.of(ranking.get(i), i + 1);
+            current.put(delta.team(), delta);
+            // First change seen for this group: nothing to compare with, only the changed team goes out
+            boolean send = previous == null ? delta.team().equals(changedTeam) : !delta.equals(previous.get(delta.team()));
+            if (send) {
+                changed.add(delta);
+            }
+        }
+        if (previous != null) {
+            previous.keySet().stream().filter(team -> !current.containsKey(team)).sorted()
+                    .forEach(team -> publish(StandingsDelta.removed(team, groupNumber)));
+        }
+        changed.forEach(this::publish);
+        published.put(groupNumber, current);
+    }
+
+    void publish(StandingsDelta delta) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.groupNumber != null && subscriber.groupNumber != delta.groupNumber()) {
+                continue;
+            }
+            if (subscriber.queue.offer(delta)) {
+                subscriber.schedule();
+            } else {
+                evict(subscriber);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        senders.shutdownNow();
+    }
+
+    private void evict(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            evictedCounter.increment();
+            log.debug("Disconnecting standings subscriber with {} undelivered deltas", subscriber.queue.size());
+            subscriber.queue.clear();
+            subscriber.emitter.complete();
+        }
+    }
+
+    private final class Subscriber {
+        final Integer groupNumber;
+        final SseEmitter emitter;
+        final BlockingQueue<StandingsDelta> queue;
+        // At most one sender per subscriber, so events reach the client in order
+        final AtomicBoolean sending = new AtomicBoolean();
+
+        Subscriber(Integer groupNumber, SseEmitter emitter, BlockingQueue<StandingsDelta> queue) {
+            this.groupNumber = groupNumber;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        void schedule() {
+            if (sending.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                StandingsDelta delta;
+                while ((delta = queue.poll()) != null) {
+                    emitter.send(SseEmitter.event().name(EVENT_NAME).data(delta));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the emitter is already complete
+                subscribers.remove(this);
+                queue.clear();
+                return;
+            } finally {
+                sending.set(false);
+            }
+            // A delta offered after the last poll but before the flag was cleared would otherwise wait for the next one
+            if (!queue.isEmpty() && subscribers.contains(this)) {
+                schedule();
+            }
+        }
+    }
+}
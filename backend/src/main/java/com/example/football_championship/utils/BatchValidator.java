@@ -0,0 +1,42 @@
+package com.example.football_championship.utils;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Runs a side-effect-free validation function over every record of a batch, in parallel
+ * on the common fork-join pool once the batch reaches the threshold. Outcomes always come
+ * back in input order, so whatever is built from them stays deterministic.
+ */
+public final class BatchValidator {
+
+    /**
+     * Either the validated value or the reason the record was rejected.
+     *
+     * @param index position of the record in the input
+     */
+    public record Outcome<T>(int index, T value, IllegalArgumentException error) {
+
+        public boolean isValid() {
+            return error == null;
+        }
+    }
+
+    private BatchValidator() {
+    }
+
+    public static <I, T> List<Outcome<T>> validate(List<I> inputs, Function<I, T> validator, int parallelThreshold) {
+        IntStream indexes = IntStream.range(0, inputs.size());
+        if (inputs.size() >= parallelThreshold) {
+            indexes = indexes.parallel();
+        }
+        return indexes.mapToObj(index -> {
+            try {
+                return new Outcome<>(index, validator.apply(inputs.get(index)), null);
+            } catch (IllegalArgumentException e) {
+                return new Outcome<T>(index, null, e);
+            }
+        }).toList();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.football_championship.utils;
+
+/**
+ * Splits an import line into fields separated by spaces, tabs or commas, so both the
+ * pasted sheet format ({@code teamA 17/06 1}) and CSV are accepted.
+ */
+public final class LineTokenizer {
+
+    private LineTokenizer() {
+    }
+
+    /**
+     * Fills {@code tokens} with the fields of the line and returns how many were found,
+     * or -1 if the line has more fields than {@code tokens} can hold.
+     */
+    public static int tokenize(String line, String[] tokens) {
+        int count = 0;
+        int length = line.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && isSeparator(line.charAt(i))) {
+                i++;
+            }
+            if (i == length) {
+                break;
+            }
+            int start = i;
+            while (i < length && !isSeparator(line.charAt(i))) {
+                i++;
+            }
+            if (count == tokens.length) {
+                return -1;
+            }
+            tokens[count++] = line.substring(start, i);
+        }
+        return count;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == '\t' || c == ',' || c == '\r';
+    }
+}
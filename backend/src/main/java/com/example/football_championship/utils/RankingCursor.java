@@ -0,0 +1,40 @@
+package com.example.football_championship.utils;
+
+import com.example.football_championship.model.TeamSnapshot;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for ranking pages. It carries the ranking keys of the last team
+ * on a page (points, goals, alternate points, registration date and name), which is all
+ * the ranking order needs to find where the next page starts.
+ */
+public final class RankingCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private RankingCursor() {
+    }
+
+    public static String encode(TeamSnapshot team) {
+        String keys = team.matchPoints() + SEPARATOR + team.totalGoals() + SEPARATOR + team.alternatePoints() + SEPARATOR
+                + (team.registrationDate() != null ? team.registrationDate() : "") + SEPARATOR + team.name();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(keys.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TeamSnapshot decode(String cursor, int groupNumber) {
+        try {
+            String keys = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // The name goes last and may itself contain the separator
+            String[] parts = keys.split("\\|", 5);
+            LocalDate registrationDate = parts[3].isEmpty() ? null : LocalDate.parse(parts[3]);
+            return new TeamSnapshot(null, parts[4], registrationDate, groupNumber,
+                    Integer.parseInt(parts[1]), Integer.parseInt(parts[0]), Integer.parseInt(parts[2]), 0, 0);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.football_championship.utils;
+
+/**
+ * Rejected input, with a reason code that is stable enough to use as a metric tag.
+ * Extends IllegalArgumentException so existing handlers keep answering 400.
+ */
+public class ValidationException extends IllegalArgumentException {
+
+    public enum Reason {
+        MISSING_DATE,
+        INVALID_DATE,
+        INVALID_GROUP,
+        DUPLICATE_NAME,
+        MISSING_TEAM,
+        SAME_TEAM,
+        UNKNOWN_TEAM,
+        NEGATIVE_SCORE
+    }
+
+    private final Reason reason;
+
+    public ValidationException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
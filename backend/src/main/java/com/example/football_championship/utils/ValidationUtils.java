@@ -3,30 +3,42 @@ package com.example.football_championship.utils;
 import com.example.football_championship.repository.TeamRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.time.DateTimeException;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.util.List;
 
 public class ValidationUtils {
-    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-
     @Autowired
     private static TeamRepository teamRepository;
     public static LocalDate validateDate(String date) {
+        return validateDate(date, LocalDate.now().getYear());
+    }
+
+    // Callers validating many rows resolve the current year once and pass it in
+    public static LocalDate validateDate(String date, int year) {
         if (date == null) {
-            throw new IllegalArgumentException("Date is empty or null");
+            throw new ValidationException(ValidationException.Reason.MISSING_DATE, "Date is empty or null");
         }
+        if (date.length() != 5 || date.charAt(2) != '/') {
+            throw new ValidationException(ValidationException.Reason.INVALID_DATE, "Invalid date format. Please use 'dd/MM'. Provided: " + date);
+        }
+        int day = parseTwoDigits(date, 0);
+        int month = parseTwoDigits(date, 3);
         try {
-            // Parse the date string using the defined format
-            int currYear = LocalDate.now().getYear();
-            LocalDate updatedDate = LocalDate.parse(date + "/" + currYear, DATE_FORMAT);
-            return updatedDate;
-        } catch (DateTimeParseException e) {
-            throw new IllegalArgumentException("Invalid date format. Please use 'dd/MM'. Provided: " + date);
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            throw new ValidationException(ValidationException.Reason.INVALID_DATE, "Invalid date format. Please use 'dd/MM'. Provided: " + date);
         }
     }
 
+    private static int parseTwoDigits(String text, int offset) {
+        int tens = text.charAt(offset) - '0';
+        int units = text.charAt(offset + 1) - '0';
+        if (tens < 0 || tens > 9 || units < 0 || units > 9) {
+            throw new ValidationException(ValidationException.Reason.INVALID_DATE, "Invalid date format. Please use 'dd/MM'. Provided: " + text);
+        }
+        return tens * 10 + units;
+    }
+
     public static void validateInput(String teamName, int groupNumber) {
         if (teamRepository.findByName(teamName).isPresent()) {
             throw new IllegalArgumentException("Team name already exists");
@@ -36,42 +48,4 @@ public class ValidationUtils {
         }
     }
 
-    public static List<Integer> calculatePoints(String pointSystem, int teamAGoals, int teamBGoals) {
-        int teamAPoints = 0;
-        int teamBPoints = 0;
-
-        switch (pointSystem) {
-            case "ALTERNATE":
-                if (teamAGoals > teamBGoals) {
-                    // Team A wins
-                    teamAPoints = 5;
-                    teamBPoints = 1;
-                } else if (teamAGoals < teamBGoals) {
-                    // Team B wins
-                    teamBPoints = 5;
-                    teamAPoints = 1;
-                } else {
-                    // Draw
-                    teamBPoints = 3;
-                    teamAPoints = 3;
-                }
-                return List.of(teamAPoints, teamBPoints);
-            case "STANDARD":
-                if (teamAGoals > teamBGoals) {
-                    // Team A wins
-                    teamAPoints = 3;
-                } else if (teamAGoals < teamBGoals) {
-                    // Team B wins
-                    teamBPoints = 3;
-                } else {
-                    // Draw
-                    teamAPoints = 1;
-                    teamBPoints = 1;
-                }
-                return List.of(teamAPoints, teamBPoints);
-            default:
-                return null;
-        }
-    }
-
-}
+}
\ No newline at end of file
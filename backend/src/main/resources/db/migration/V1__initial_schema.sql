@@ -0,0 +1,49 @@
+-- Schema as previously created by ddl-auto=update. IF NOT EXISTS keeps this safe to run
+-- against databases that were created that way (they are baselined at version 0).
+create sequence if not exists audit_log_seq start with 1 increment by 50;
+create sequence if not exists t_match_entity_seq start with 1 increment by 50;
+create sequence if not exists t_team_entity_seq start with 1 increment by 50;
+
+create table if not exists audit_log (
+    id bigint not null,
+    timestamp timestamp(6),
+    action varchar(255),
+    details text,
+    entity_name varchar(255),
+    performed_by varchar(255),
+    primary key (id)
+);
+
+create table if not exists t_match_entity (
+    id bigint not null,
+    teamaname varchar(255) not null,
+    teambname varchar(255) not null,
+    teamagoals integer not null,
+    teambgoals integer not null,
+    created_by varchar(255) not null,
+    last_modified_by varchar(255) not null,
+    created_date timestamp(6) not null,
+    last_modified_date timestamp(6) not null,
+    primary key (id)
+);
+
+create table if not exists t_team_entity (
+    id bigint not null,
+    name varchar(255) not null,
+    registration_date date not null,
+    group_number integer not null,
+    total_goals integer,
+    match_points integer,
+    alternate_points integer,
+    matches_played integer,
+    created_by varchar(255) not null,
+    last_modified_by varchar(255) not null,
+    created_date timestamp(6) not null,
+    last_modified_date timestamp(6) not null,
+    primary key (id)
+);
+
+-- Move the pooled sequences past ids handed out by the old IDENTITY columns
+select setval('audit_log_seq', coalesce((select max(id) from audit_log), 0) + 50, false);
+select setval('t_match_entity_seq', coalesce((select max(id) from t_match_entity), 0) + 50, false);
+select setval('t_team_entity_seq', coalesce((select max(id) from t_team_entity), 0) + 50, false);
@@ -0,0 +1,4 @@
+-- Team names are unique; addTeams relies on this for its ON CONFLICT DO NOTHING insert
+create unique index if not exists ux_team_name on t_team_entity (name);
+
+create index if not exists ix_team_group_number on t_team_entity (group_number);
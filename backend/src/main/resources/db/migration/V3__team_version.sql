@@ -0,0 +1,2 @@
+-- Optimistic locking for whole-team edits; SQL-side stat increments bump it too
+alter table t_team_entity add column if not exists version bigint not null default 0;
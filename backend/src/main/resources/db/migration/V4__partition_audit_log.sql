@@ -0,0 +1,39 @@
+-- Audit records move to a table range-partitioned by month. Expired months are dropped
+-- whole by the retention job (AuditPartitionMaintenance) instead of deleted row by row.
+alter table audit_log rename to audit_log_unpartitioned;
+
+-- The partition key has to be part of the primary key
+create table audit_log (
+    id bigint not null,
+    timestamp timestamp(6) not null,
+    action varchar(255),
+    details text,
+    entity_name varchar(255),
+    performed_by varchar(255),
+    primary key (id, timestamp)
+) partition by range (timestamp);
+
+-- Catches rows outside the monthly partitions so an insert never fails
+create table audit_log_default partition of audit_log default;
+
+do $$
+declare
+    partition_start date := date_trunc('month', coalesce((select min(timestamp) from audit_log_unpartitioned), now()));
+    last_start date := date_trunc('month', now()) + interval '3 months';
+begin
+    while partition_start <= last_start loop
+        execute format('create table if not exists %I partition of audit_log for values from (%L) to (%L)',
+                       'audit_log_p' || to_char(partition_start, 'YYYYMM'),
+                       partition_start, (partition_start + interval '1 month')::date);
+        partition_start := (partition_start + interval '1 month')::date;
+    end loop;
+end $$;
+
+insert into audit_log (id, timestamp, action, details, entity_name, performed_by)
+select id, coalesce(timestamp, now()), action, details, entity_name, performed_by from audit_log_unpartitioned;
+
+drop table audit_log_unpartitioned;
+
+-- Keyset paging (newest first) and the action/entity filters; created on every partition
+create index ix_audit_log_timestamp_id on audit_log (timestamp, id);
+create index ix_audit_log_entity_action on audit_log (entity_name, action, timestamp);
@@ -0,0 +1,6 @@
+-- Ranking order within a group, used by the single-team rank lookup; its leading
+-- column also serves the group lookups the old index was there for
+create index if not exists ix_team_group_ranking on t_team_entity
+    (group_number, match_points desc, total_goals desc, alternate_points desc, registration_date, name);
+
+drop index if exists ix_team_group_number;
@@ -0,0 +1,6 @@
+-- The rank queries compare names with collate "C", the same code point order as the
+-- Java ranking comparator; the index has to be built in that collation for them to walk it
+drop index if exists ix_team_group_ranking;
+
+create index ix_team_group_ranking on t_team_entity
+    (group_number, match_points desc, total_goals desc, alternate_points desc, registration_date, name collate "C");
@@ -0,0 +1,12 @@
+-- Point systems registered through the API; the configured ones stay in application.properties
+create table if not exists t_point_system_entity (
+    name varchar(64) not null,
+    win integer not null,
+    draw integer not null,
+    loss integer not null,
+    created_by varchar(255) not null,
+    last_modified_by varchar(255) not null,
+    created_date timestamp(6) not null,
+    last_modified_date timestamp(6) not null,
+    primary key (name)
+);
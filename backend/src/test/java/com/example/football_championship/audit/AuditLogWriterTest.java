@@ -0,0 +1,149 @@
+package com.example.football_championship.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class AuditLogWriterTest {
+
+    @Mock
+    private AuditSink auditSink;
+
+    private final List<Integer> flushedBatchSizes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // Record sizes at call time, the writer reuses its batch list afterwards
+        doAnswer(invocation -> {
+            List<AuditLog> batch = invocation.getArgument(0);
+            flushedBatchSizes.add(batch.size());
+            return null;
+        }).when(auditSink).write(anyList());
+    }
+
+    @Test
+    void testStopFlushesQueuedRecords() throws InterruptedException {
+        AuditLogWriter writer = new AuditLogWriter(auditSink, new SimpleMeterRegistry(),
+                100, 2, 60_000, AuditLogWriter.OverflowPolicy.BLOCK, 10, 1000, false);
+        writer.start();
+
+        for (int i = 0; i < 5; i++) {
+            writer.enqueue(new AuditLog());
+        }
+        writer.stop();
+
+        // Every record is written, in batches no larger than the batch size
+        assertEquals(5, flushedBatchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(flushedBatchSizes.stream().allMatch(size -> size <= 2));
+        assertEquals(0, writer.getQueueDepth());
+    }
+
+    @Test
+    void testDropPolicyDiscardsWhenFull() throws InterruptedException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AuditLogWriter writer = new AuditLogWriter(auditSink, meterRegistry,
+                2, 10, 60_000, AuditLogWriter.OverflowPolicy.DROP, 10, 1000, true);
+
+        // Worker not started yet, so the queue fills up
+        for (int i = 0; i < 5; i++) {
+            writer.enqueue(new AuditLog());
+        }
+
+        assertEquals(2, writer.getQueueDepth());
+        assertEquals(3, meterRegistry.counter("championship.audit.dropped").count());
+
+        writer.start();
+        writer.stop();
+        assertEquals(2, flushedBatchSizes.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    void testSamplePolicyKeepsOneInN() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AuditLogWriter writer = new AuditLogWriter(auditSink, meterRegistry,
+                1, 10, 60_000, AuditLogWriter.OverflowPolicy.SAMPLE, 3, 1000, false);
+
+        writer.enqueue(new AuditLog());
+        // Queue is full: the next two overflow records fall outside the sample and are dropped
+        for (int i = 0; i < 2; i++) {
+            writer.enqueue(new AuditLog());
+        }
+
+        assertEquals(1, writer.getQueueDepth());
+        assertEquals(2, meterRegistry.counter("championship.audit.dropped").count());
+        verify(auditSink, never()).write(anyList());
+    }
+
+    @Test
+    void testRecordsWaitForCommit() {
+        AuditLogWriter writer = new AuditLogWriter(auditSink, new SimpleMeterRegistry(),
+                10, 10, 60_000, AuditLogWriter.OverflowPolicy.BLOCK, 10, 1000, false);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            writer.enqueue(new AuditLog());
+            writer.enqueue(new AuditLog());
+            assertEquals(0, writer.getQueueDepth());
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(2, writer.getQueueDepth());
+        assertFalse(TransactionSynchronizationManager.hasResource(writer));
+    }
+
+    @Test
+    void testRollbackDiscardsRecords() {
+        AuditLogWriter writer = new AuditLogWriter(auditSink, new SimpleMeterRegistry(),
+                10, 10, 60_000, AuditLogWriter.OverflowPolicy.BLOCK, 10, 1000, false);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            writer.enqueue(new AuditLog());
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // A retried or failed transaction leaves nothing behind
+        assertEquals(0, writer.getQueueDepth());
+        assertFalse(TransactionSynchronizationManager.hasResource(writer));
+    }
+
+    @Test
+    void testBlockAfterCommitGivesUpAfterTimeout() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AuditLogWriter writer = new AuditLogWriter(auditSink, meterRegistry,
+                1, 10, 60_000, AuditLogWriter.OverflowPolicy.BLOCK, 10, 50, false);
+        writer.enqueue(new AuditLog());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            writer.enqueue(new AuditLog());
+            // Queue is full and the worker is not running: the wait is bounded instead of parking forever
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1, writer.getQueueDepth());
+        assertEquals(1, meterRegistry.counter("championship.audit.dropped").count());
+    }
+}
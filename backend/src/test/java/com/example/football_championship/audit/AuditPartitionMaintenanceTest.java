@@ -0,0 +1,125 @@
+package com.example.football_championship.audit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AuditPartitionMaintenanceTest {
+
+    private static final String STRANDED = "select count(*) from audit_log_default where timestamp >= ? and timestamp < ?";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AuditPartitionMaintenance maintenance;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        // A partitioned audit_log on PostgreSQL
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(jdbcTemplate.getDataSource()).thenReturn(dataSource);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn("PostgreSQL");
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Integer.class))).thenReturn(1);
+        when(jdbcTemplate.queryForObject(eq(STRANDED), eq(Integer.class), any(), any())).thenReturn(0);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        maintenance = new AuditPartitionMaintenance(jdbcTemplate, new TransactionTemplate(transactionManager), 1, 12);
+    }
+
+    @Test
+    void testPartitionName() {
+        assertEquals("audit_log_p202603", AuditPartitionMaintenance.partitionName(YearMonth.of(2026, 3)));
+    }
+
+    @Test
+    void testExpiredPartitionsOnlyOlderMonthlyOnes() {
+        List<String> partitions = List.of("audit_log_default", "audit_log_p202509", "audit_log_p202510",
+                "audit_log_p202511", "audit_log_p202611", "audit_log_archive", "audit_log_pxxxxxx");
+
+        List<String> expired = AuditPartitionMaintenance.expiredPartitions(partitions, YearMonth.of(2025, 11));
+
+        assertEquals(List.of("audit_log_p202509", "audit_log_p202510"), expired);
+    }
+
+    @Test
+    void testCreatesMissingMonthsAndDropsExpiredOnes() {
+        YearMonth current = YearMonth.now();
+        String expired = AuditPartitionMaintenance.partitionName(current.minusMonths(13));
+        partitions("audit_log_default", expired, AuditPartitionMaintenance.partitionName(current));
+
+        maintenance.maintain();
+
+        // The current month exists already, only next month is created
+        List<String> statements = executed();
+        assertEquals(List.of(
+                String.format("create table if not exists %s partition of audit_log for values from ('%s') to ('%s')",
+                        AuditPartitionMaintenance.partitionName(current.plusMonths(1)),
+                        current.plusMonths(1).atDay(1), current.plusMonths(2).atDay(1)),
+                "drop table if exists " + expired), statements);
+        // Rows that missed every partition expire as well
+        verify(jdbcTemplate).update("delete from audit_log_default where timestamp < ?", current.minusMonths(12).atDay(1).atStartOfDay());
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    void testMovesStrandedRowsOutOfTheDefaultPartition() {
+        YearMonth current = YearMonth.now();
+        YearMonth next = current.plusMonths(1);
+        LocalDateTime from = next.atDay(1).atStartOfDay();
+        LocalDateTime to = next.plusMonths(1).atDay(1).atStartOfDay();
+        partitions("audit_log_default", AuditPartitionMaintenance.partitionName(current));
+        when(jdbcTemplate.queryForObject(STRANDED, Integer.class, from, to)).thenReturn(3);
+
+        maintenance.maintain();
+
+        // Detached, created, moved and reattached in one transaction
+        InOrder inOrder = inOrder(transactionManager, jdbcTemplate);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(jdbcTemplate).execute("alter table audit_log detach partition audit_log_default");
+        inOrder.verify(jdbcTemplate).execute(startsWith("create table if not exists " + AuditPartitionMaintenance.partitionName(next)));
+        inOrder.verify(jdbcTemplate).update(startsWith("insert into audit_log "), eq(from), eq(to));
+        inOrder.verify(jdbcTemplate).update("delete from audit_log_default where timestamp >= ? and timestamp < ?", from, to);
+        inOrder.verify(jdbcTemplate).execute("alter table audit_log attach partition audit_log_default default");
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    private void partitions(String... names) {
+        when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class))).thenReturn(List.of(names));
+    }
+
+    private List<String> executed() {
+        List<String> statements = new ArrayList<>();
+        mockingDetails(jdbcTemplate).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("execute")
+                        && invocation.getArguments().length == 1 && invocation.getArgument(0) instanceof String)
+                .forEach(invocation -> statements.add(invocation.getArgument(0)));
+        return statements;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.football_championship.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentLogTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testReadsBackTimeRangeAcrossSegments() throws IOException {
+        try (SegmentLog segmentLog = new SegmentLog(directory, 1024, 0)) {
+            for (int i = 0; i < 100; i++) {
+                segmentLog.append(auditLog(i));
+            }
+            assertTrue(segmentLog.getSegmentIndex() > 0);
+        }
+
+        List<AuditLog> records = read(START.plusMinutes(10), START.plusMinutes(20));
+
+        assertEquals(10, records.size());
+        assertEquals("Team10", records.get(0).getEntityName());
+        assertEquals(START.plusMinutes(10), records.get(0).getTimestamp());
+        assertEquals("Added Team10 to group 1 ✓", records.get(0).getDetails());
+        assertEquals("Admin", records.get(0).getPerformedBy());
+        assertNull(records.get(9).getAction());
+        assertEquals(100, read(null, null).size());
+    }
+
+    @Test
+    void testReopenDiscardsTornTailAndAppendsAfterIt() throws IOException {
+        try (SegmentLog segmentLog = new SegmentLog(directory, 4096, 0)) {
+            for (int i = 0; i < 3; i++) {
+                segmentLog.append(auditLog(i));
+            }
+        }
+
+        // Simulate a crash halfway through the third record: its payload no longer matches the checksum
+        int thirdRecord = recordOffset(2);
+        try (FileChannel channel = FileChannel.open(SegmentLog.segmentPath(directory, 0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), thirdRecord + SegmentLog.RECORD_HEADER_SIZE + 4);
+        }
+        assertEquals(2, read(null, null).size());
+
+        try (SegmentLog segmentLog = new SegmentLog(directory, 4096, 0)) {
+            segmentLog.append(auditLog(50));
+        }
+
+        List<String> names = read(null, null).stream().map(AuditLog::getEntityName).toList();
+        assertEquals(List.of("Team0", "Team1", "Team50"), names);
+    }
+
+    @Test
+    void testRolloverDeletesSegmentsBeyondLimit() throws IOException {
+        try (SegmentLog segmentLog = new SegmentLog(directory, 512, 2)) {
+            for (int i = 0; i < 60; i++) {
+                segmentLog.append(auditLog(i));
+            }
+        }
+
+        List<AuditLog> records = read(null, null);
+        assertEquals(2, SegmentLog.segments(directory).size());
+        assertEquals("Team59", records.get(records.size() - 1).getEntityName());
+        assertTrue(records.size() < 60);
+    }
+
+    private int recordOffset(int index) throws IOException {
+        try (FileChannel channel = FileChannel.open(SegmentLog.segmentPath(directory, 0), StandardOpenOption.READ)) {
+            ByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int position = SegmentLog.HEADER_SIZE;
+            for (int i = 0; i < index; i++) {
+                position = SegmentLog.next(segment, position);
+            }
+            return position;
+        }
+    }
+
+    private List<AuditLog> read(LocalDateTime from, LocalDateTime to) throws IOException {
+        List<AuditLog> records = new ArrayList<>();
+        SegmentLogReader.read(directory, from, to, records::add);
+        return records;
+    }
+
+    private AuditLog auditLog(int i) {
+        AuditLog auditLog = new AuditLog();
+        auditLog.setAction(i % 10 == 9 ? null : "ADD");
+        auditLog.setEntityName("Team" + i);
+        auditLog.setDetails("Added Team" + i + " to group 1 ✓");
+        auditLog.setTimestamp(START.plusMinutes(i));
+        return auditLog;
+    }
+}
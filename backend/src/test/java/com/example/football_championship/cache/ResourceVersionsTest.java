@@ -0,0 +1,47 @@
+package com.example.football_championship.cache;
+
+import com.example.football_championship.event.TeamChangedEvent;
+import com.example.football_championship.model.TeamSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResourceVersionsTest {
+
+    private final ResourceVersions versions = new ResourceVersions();
+
+    @Test
+    void testChangesBumpTeamAndGroup() {
+        String groupETag = versions.groupETag(1);
+        versions.onTeamChanged(TeamChangedEvent.saved(null, team("TeamA", 1)));
+        versions.onTeamChanged(TeamChangedEvent.saved("TeamA", team("TeamA", 1)));
+
+        assertEquals(2, versions.getTeamVersion("TeamA"));
+        assertEquals(2, versions.getGroupVersion(1));
+        assertEquals(0, versions.getGroupVersion(2));
+        assertNotEquals(groupETag, versions.groupETag(1));
+        assertTrue(versions.groupETag(1).startsWith("\"") && versions.groupETag(1).endsWith("\""));
+    }
+
+    @Test
+    void testMoveAndDeleteBumpBothSides() {
+        versions.onTeamChanged(TeamChangedEvent.saved("TeamA", 1, team("TeamB", 2)));
+
+        assertEquals(1, versions.getTeamVersion("TeamA"));
+        assertEquals(1, versions.getTeamVersion("TeamB"));
+        assertEquals(1, versions.getGroupVersion(1));
+        assertEquals(1, versions.getGroupVersion(2));
+
+        versions.onTeamChanged(TeamChangedEvent.deleted("TeamB", 2));
+        assertEquals(2, versions.getTeamVersion("TeamB"));
+        assertEquals(2, versions.getGroupVersion(2));
+        assertEquals(1, versions.getGroupVersion(1));
+        assertEquals(2, versions.getTournamentVersion());
+    }
+
+    private TeamSnapshot team(String name, int groupNumber) {
+        return new TeamSnapshot(1L, name, LocalDate.of(2024, 1, 1), groupNumber, 0, 0, 0, 0, 0);
+    }
+}
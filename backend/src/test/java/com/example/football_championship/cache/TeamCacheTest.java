@@ -0,0 +1,110 @@
+package com.example.football_championship.cache;
+
+import com.example.football_championship.event.TeamChangedEvent;
+import com.example.football_championship.model.TeamSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TeamCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong();
+    private final List<String> loads = new ArrayList<>();
+    private final Function<String, Optional<TeamSnapshot>> loader = name -> {
+        loads.add(name);
+        return name.startsWith("Team") ? Optional.of(team(name, 0, 0)) : Optional.empty();
+    };
+
+    private TeamCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TeamCache(meterRegistry, 2, 1_000, now::get);
+    }
+
+    @Test
+    void testReadThroughAndLeastRecentlyUsedEviction() {
+        cache.get("TeamA", loader);
+        cache.get("TeamB", loader);
+        cache.get("TeamA", loader);
+        // TeamB is the least recently used and makes room for TeamC
+        cache.get("TeamC", loader);
+        cache.get("TeamA", loader);
+        cache.get("TeamB", loader);
+
+        assertEquals(List.of("TeamA", "TeamB", "TeamC", "TeamB"), loads);
+        assertEquals(2, meterRegistry.counter("championship.team.cache.hits").count());
+        assertEquals(4, meterRegistry.counter("championship.team.cache.misses").count());
+        assertEquals(2, meterRegistry.counter("championship.team.cache.evictions", "cause", "size").count());
+    }
+
+    @Test
+    void testExpiredEntryIsReloaded() {
+        cache.get("TeamA", loader);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        cache.get("TeamA", loader);
+
+        assertEquals(List.of("TeamA", "TeamA"), loads);
+        assertEquals(1, meterRegistry.counter("championship.team.cache.evictions", "cause", "expired").count());
+    }
+
+    @Test
+    void testUnknownTeamIsNotCached() {
+        assertTrue(cache.get("Unknown", loader).isEmpty());
+        assertTrue(cache.get("Unknown", loader).isEmpty());
+
+        assertEquals(2, loads.size());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testChangesReplaceOrDropEntries() {
+        cache.get("TeamA", loader);
+        cache.get("TeamB", loader);
+
+        cache.onTeamChanged(TeamChangedEvent.saved("TeamA", team("TeamA", 6, 1)));
+        cache.onTeamChanged(TeamChangedEvent.deleted("TeamB", 1));
+
+        assertEquals(6, cache.get("TeamA", loader).get().matchPoints());
+        cache.get("TeamB", loader);
+        assertEquals(List.of("TeamA", "TeamB", "TeamB"), loads);
+    }
+
+    @Test
+    void testLoadRacingWithChangeIsNotCached() {
+        // The team changes while its old state is being read from the database
+        cache.get("TeamA", name -> {
+            cache.onTeamChanged(TeamChangedEvent.deleted("TeamA", 1));
+            return Optional.of(team("TeamA", 0, 0));
+        });
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testOutOfOrderChangeDoesNotReplaceNewerEntry() {
+        cache.get("TeamA", loader);
+
+        // Two commits in a row, their after-commit events delivered the other way round
+        cache.onTeamChanged(TeamChangedEvent.saved("TeamA", team("TeamA", 6, 2)));
+        cache.onTeamChanged(TeamChangedEvent.saved("TeamA", team("TeamA", 3, 1)));
+
+        assertEquals(6, cache.get("TeamA", loader).get().matchPoints());
+        assertEquals(List.of("TeamA"), loads);
+    }
+
+    private TeamSnapshot team(String name, int matchPoints, long version) {
+        return new TeamSnapshot((long) name.hashCode(), name, LocalDate.of(2024, 1, 1), 1, 0, matchPoints, 0, 0, version);
+    }
+}
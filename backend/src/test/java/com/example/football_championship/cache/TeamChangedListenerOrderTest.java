@@ -0,0 +1,52 @@
+package com.example.football_championship.cache;
+
+import com.example.football_championship.event.TeamChangedEvent;
+import com.example.football_championship.repository.TeamRepository;
+import com.example.football_championship.service.StandingsService;
+import com.example.football_championship.standings.StandingsStream;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import static org.mockito.Mockito.inOrder;
+
+// Only the listeners, no transaction manager: fallbackExecution runs them right away, in listener order
+@SpringJUnitConfig({StandingsService.class, TeamCache.class, ResourceVersions.class, StandingsStream.class, SimpleMeterRegistry.class})
+class TeamChangedListenerOrderTest {
+
+    @MockBean
+    private TeamRepository teamRepository;
+
+    @SpyBean
+    private StandingsService standingsService;
+
+    @SpyBean
+    private TeamCache teamCache;
+
+    @SpyBean
+    private ResourceVersions resourceVersions;
+
+    @SpyBean
+    private StandingsStream standingsStream;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void testDataIsUpdatedBeforeETagsAndStream() {
+        TeamChangedEvent event = TeamChangedEvent.deleted("TeamA", 1);
+        eventPublisher.publishEvent(event);
+
+        // A reader revalidating with the new ETag must already see the new standings and cache entry
+        InOrder order = inOrder(standingsService, teamCache, resourceVersions, standingsStream);
+        order.verify(standingsService).onTeamChanged(event);
+        order.verify(teamCache).onTeamChanged(event);
+        order.verify(resourceVersions).onTeamChanged(event);
+        order.verify(standingsStream).onTeamChanged(event);
+    }
+}
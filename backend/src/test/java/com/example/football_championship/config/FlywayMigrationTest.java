@@ -0,0 +1,92 @@
+package com.example.football_championship.config;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the real migration scripts against H2 in PostgreSQL mode. V4 onwards uses partitioning
+// and PL/pgSQL, which only PostgreSQL runs, so these stop at V3
+public class FlywayMigrationTest {
+
+    private static final String H2_TARGET = "3";
+
+    private JdbcDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:flyway-" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void testMigratesEmptyDatabase() {
+        MigrateResult result = flyway(H2_TARGET).migrate();
+
+        assertEquals(3, result.migrationsExecuted);
+        insertTeam(1, "TeamA");
+        assertEquals(0L, jdbcTemplate.queryForObject("select version from t_team_entity where name = 'TeamA'", Long.class));
+        assertThrows(Exception.class, () -> insertTeam(2, "TeamA"));
+    }
+
+    @Test
+    void testDuplicateNamesStopUniqueIndexWithClearMessage() {
+        // A database from the ddl-auto=update days, before names were unique
+        flyway("1").migrate();
+        insertTeam(1, "TeamA");
+        insertTeam(2, "TeamA");
+        insertTeam(3, "TeamB");
+
+        FlywayException error = assertThrows(FlywayException.class, () -> flyway(H2_TARGET).migrate());
+
+        assertTrue(messages(error).contains("TeamA (2x)"), messages(error));
+        assertFalse(messages(error).contains("TeamB"));
+        assertEquals("1", flyway(H2_TARGET).info().current().getVersion().getVersion());
+    }
+
+    private Flyway flyway(String target) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .callbacks(new TeamNameDuplicateCheck())
+                // V1 moves the sequences with PostgreSQL's setval, which H2 lacks
+                .initSql("create alias if not exists setval for \"" + FlywayMigrationTest.class.getName() + ".setval\"")
+                .target(target)
+                .load();
+    }
+
+    private void insertTeam(long id, String name) {
+        jdbcTemplate.update("insert into t_team_entity (id, name, registration_date, group_number, created_by, "
+                + "last_modified_by, created_date, last_modified_date) values (?, ?, date '2024-01-01', 1, 'Admin', 'Admin', "
+                + "current_timestamp, current_timestamp)", id, name);
+    }
+
+    // PostgreSQL's setval(sequence, value, is_called) for H2
+    public static long setval(Connection connection, String sequence, long value, boolean isCalled) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter sequence " + sequence + " restart with " + (isCalled ? value + 1 : value));
+        }
+        return value;
+    }
+
+    private static String messages(Throwable error) {
+        StringBuilder messages = new StringBuilder();
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            messages.append(cause.getMessage()).append('\n');
+        }
+        return messages.toString();
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.football_championship.config;
+
+import com.example.football_championship.service.TeamService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles({"test", "virtual"})
+class VirtualThreadModeTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Test
+    void testVirtualProfileGuardsPoolAndUsesVirtualThreads() throws Exception {
+        assertTrue(dataSource.isWrapperFor(ConnectionLimitingDataSource.class));
+        assertTrue(applicationTaskExecutor.submit(() -> Thread.currentThread().isVirtual()).get());
+
+        // Repository calls still work through the limiter, and give their permit back
+        ConnectionLimitingDataSource limiter = dataSource.unwrap(ConnectionLimitingDataSource.class);
+        int available = limiter.getAvailablePermits();
+        assertThrows(NoSuchElementException.class, () -> teamService.getTeamDetails("Nobody"));
+        assertEquals(available, limiter.getAvailablePermits());
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.football_championship.controller;
+
+import com.example.football_championship.support.StatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Upper bounds on the SQL each endpoint issues on the request thread, at several batch sizes.
+ * Bounds that grow with the batch only do so through JDBC batches or chunks, so a lookup or
+ * save per record (N+1) fails here. Audit records are written off-thread and not counted.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(StatementCounter.Config.class)
+class EndpointQueryCountTest {
+
+    private static final AtomicInteger RUN = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+
+    @Value("${championship.ingest.chunk-size}")
+    private int chunkSize;
+
+    // Teams are unique per test, the database and the in-memory standings are shared
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        prefix = "Q" + RUN.incrementAndGet() + "-";
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 100, 1000})
+    void testAddTeams(int teams) throws Exception {
+        String body = teamsJson(teams);
+
+        statementCounter.resetForCurrentThread();
+        mockMvc.perform(post("/api/team/addTeams").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+
+        // One multi-row insert, names are checked by the unique index rather than looked up
+        assertEquals(1, statementCounter.getExecuted().size(), statementCounter.getExecuted()::toString);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 100, 500})
+    void testAddMatches(int matches) throws Exception {
+        int teams = 12;
+        addTeams(teams);
+
+        statementCounter.resetForCurrentThread();
+        mockMvc.perform(post("/api/match/addMatches").contentType(MediaType.APPLICATION_JSON).content(matchesJson(matches, teams)))
+                .andExpect(status().isOk());
+
+        // One IN (...) lookup for all teams, then batched writes and one sequence call per id block
+        assertEquals(1, statementCounter.count("select t1_0"), statementCounter.getExecuted()::toString);
+        assertTrue(statementCounter.count("update t_team_entity") <= batches(teams));
+        assertEquals(batches(matches), statementCounter.count("insert into t_match_entity"));
+        assertTrue(statementCounter.count("select next") <= batches(matches) + 1);
+        assertTrue(statementCounter.getExecuted().size() <= 1 + batches(teams) + 2L * batches(matches) + 1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 100, 1200})
+    void testAddMatchesStream(int matches) throws Exception {
+        int teams = 12;
+        addTeams(teams);
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < matches; i++) {
+            body.append(matchJson(i, teams)).append('\n');
+        }
+
+        statementCounter.resetForCurrentThread();
+        mockMvc.perform(post("/api/match/addMatches").param("summary", "true")
+                        .contentType("application/x-ndjson").accept("application/x-ndjson").content(body.toString()))
+                .andExpect(status().isOk());
+
+        // Team lookups once per chunk, not per line
+        long chunks = 0;
+        long inserts = 0;
+        for (int from = 0; from < matches; from += chunkSize) {
+            chunks++;
+            inserts += batches(Math.min(chunkSize, matches - from));
+        }
+        assertEquals(chunks, statementCounter.count("select t1_0"), statementCounter.getExecuted()::toString);
+        assertEquals(inserts, statementCounter.count("insert into t_match_entity"));
+        assertTrue(statementCounter.count("update t_team_entity") <= chunks * batches(teams));
+    }
+
+    @Test
+    void testGetTeam() throws Exception {
+        addTeams(1);
+
+        // Added teams go straight into the team cache
+        statementCounter.resetForCurrentThread();
+        mockMvc.perform(get("/api/team/getTeam/{name}", prefix + 0)).andExpect(status().isOk());
+        assertEquals(0, statementCounter.getExecuted().size());
+
+        // Unknown names are not cached and cost one lookup each time
+        statementCounter.resetForCurrentThread();
+        mockMvc.perform(get("/api/team/getTeam/{name}", prefix + "missing")).andExpect(status().isNotFound());
+        assertEquals(1, statementCounter.getExecuted().size());
+    }
+
+    @Test
+    void testRankingsAndOutcome() throws Exception {
+        addTeams(10);
+
+        // Both are answered from the in-memory standings
+        statementCounter.resetForCurrentThread();
+        mockMvc.perform(get("/api/team/rankings/{group}", 1)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/team/rankings/getOutcome/{name}/{group}", prefix + 0, 1)).andExpect(status().isOk());
+        assertEquals(0, statementCounter.getExecuted().size(), statementCounter.getExecuted()::toString);
+    }
+
+    @Test
+    void testUpdateTeam() throws Exception {
+        addTeams(1);
+        String body = "{\"teamName\":\"" + prefix + 0 + "\",\"totalGoals\":1,\"matchPoints\":3,\"alternatePoints\":5,\"matchesPlayed\":1}";
+
+        statementCounter.resetForCurrentThread();
+        mockMvc.perform(put("/api/team/updateTeam/{operation}", "UPDATE").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+
+        // Load the team, add the deltas in SQL and read the totals back
+        assertTrue(statementCounter.count("select") <= 2, statementCounter.getExecuted()::toString);
+        assertEquals(1, statementCounter.count("update t_team_entity"));
+    }
+
+    @Test
+    void testDeleteTeam() throws Exception {
+        addTeams(1);
+
+        statementCounter.resetForCurrentThread();
+        mockMvc.perform(delete("/api/team/deleteTeam/{name}", prefix + 0)).andExpect(status().isOk());
+
+        assertTrue(statementCounter.count("select") <= 2, statementCounter.getExecuted()::toString);
+        assertEquals(1, statementCounter.count("delete from t_team_entity"));
+    }
+
+    private void addTeams(int teams) throws Exception {
+        mockMvc.perform(post("/api/team/addTeams").contentType(MediaType.APPLICATION_JSON).content(teamsJson(teams)))
+                .andExpect(status().isOk());
+    }
+
+    private String teamsJson(int teams) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < teams; i++) {
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"name\":\"").append(prefix).append(i)
+                    .append("\",\"registrationDate\":\"01/01\",\"groupNumber\":").append(i % 2 + 1).append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    private String matchesJson(int matches, int teams) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < matches; i++) {
+            json.append(i == 0 ? "" : ",").append(matchJson(i, teams));
+        }
+        return json.append(']').toString();
+    }
+
+    private String matchJson(int i, int teams) {
+        return "{\"teamAName\":\"" + prefix + i % teams + "\",\"teamBName\":\"" + prefix + (i + 1) % teams
+                + "\",\"teamAGoals\":" + i % 4 + ",\"teamBGoals\":" + i % 3 + "}";
+    }
+
+    private long batches(int rows) {
+        return (rows + batchSize - 1) / batchSize;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.football_championship.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MatchListingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        // Committed rows outlive the test, other tests share the database
+        jdbcTemplate.update("delete from t_match_entity where teamaname like 'List-%'");
+        for (String team : List.of("List-A", "List-B")) {
+            mockMvc.perform(delete("/api/team/deleteTeam/{name}", team));
+        }
+    }
+
+    @Test
+    void testPagesThroughMatchesInIdOrder() throws Exception {
+        // Other tests share the database, start after whatever they left behind
+        String start = String.valueOf(jdbcTemplate.queryForObject("select coalesce(max(id), 0) from t_match_entity", Long.class));
+        mockMvc.perform(post("/api/team/addTeams").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"List-A\",\"registrationDate\":\"01/01\",\"groupNumber\":1},"
+                                + "{\"name\":\"List-B\",\"registrationDate\":\"02/01\",\"groupNumber\":1}]"))
+                .andExpect(status().isOk());
+        StringBuilder matches = new StringBuilder("[");
+        for (int i = 0; i < 25; i++) {
+            matches.append(i == 0 ? "" : ",").append("{\"teamAName\":\"List-A\",\"teamBName\":\"List-B\",\"teamAGoals\":")
+                    .append(i).append(",\"teamBGoals\":0}");
+        }
+        mockMvc.perform(post("/api/match/addMatches").contentType(MediaType.APPLICATION_JSON).content(matches.append(']').toString()))
+                .andExpect(status().isOk());
+
+        List<Integer> goals = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        String cursor = start;
+        int pages = 0;
+        while (cursor != null) {
+            JsonNode page = page(cursor, 10);
+            page.get("items").forEach(item -> {
+                goals.add(item.get("teamAScore").asInt());
+                ids.add(item.get("id").asLong());
+            });
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        }
+
+        assertEquals(3, pages);
+        assertEquals(25, goals.size());
+        assertEquals(ids.stream().sorted().toList(), ids);
+        assertEquals(0, goals.get(0));
+        assertEquals(24, goals.get(24));
+    }
+
+    @Test
+    void testRejectsInvalidPage() throws Exception {
+        mockMvc.perform(get("/api/match/matches").param("after", "abc")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/match/matches").param("limit", "0")).andExpect(status().isBadRequest());
+    }
+
+    private JsonNode page(String after, int limit) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/match/matches").param("after", after).param("limit", String.valueOf(limit)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
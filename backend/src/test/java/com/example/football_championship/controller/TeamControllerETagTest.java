@@ -0,0 +1,142 @@
+package com.example.football_championship.controller;
+
+import com.example.football_championship.cache.ResourceVersions;
+import com.example.football_championship.event.TeamChangedEvent;
+import com.example.football_championship.DTO.TeamView;
+import com.example.football_championship.model.Team;
+import com.example.football_championship.model.TeamSnapshot;
+import com.example.football_championship.service.TeamService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TeamController.class)
+// SimpleMeterRegistry for the query-count filter, which web slice tests pick up too
+@Import({ResourceVersions.class, SimpleMeterRegistry.class})
+class TeamControllerETagTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @MockBean
+    private TeamService teamService;
+
+    @Test
+    void testRankingsAnswerNotModifiedUntilGroupChanges() throws Exception {
+        Team team = new Team();
+        team.setName("TeamA");
+        team.setGroupNumber(1);
+        when(teamService.getRankingsByGroup(1)).thenReturn(List.of(TeamView.of(TeamSnapshot.of(team))));
+
+        String eTag = mockMvc.perform(get("/api/team/rankings/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/team/rankings/1").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(teamService, times(1)).getRankingsByGroup(1);
+
+        resourceVersions.onTeamChanged(TeamChangedEvent.saved("TeamA", TeamSnapshot.of(team)));
+        mockMvc.perform(get("/api/team/rankings/1").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", resourceVersions.groupETag(1)));
+    }
+
+    @Test
+    void testTeamAnswersNotModifiedWithoutLoading() throws Exception {
+        Team team = new Team();
+        team.setName("TeamB");
+        team.setRegistrationDate(LocalDate.of(2024, 1, 1));
+        when(teamService.getTeamDetails("TeamB")).thenReturn(TeamView.of(TeamSnapshot.of(team)));
+
+        String eTag = mockMvc.perform(get("/api/team/getTeam/TeamB"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/team/getTeam/TeamB").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+        verify(teamService, times(1)).getTeamDetails("TeamB");
+    }
+
+    @Test
+    void testRankingsNegotiateBinaryEncodings() throws Exception {
+        List<TeamView> ranking = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            ranking.add(new TeamView((long) i, "Team" + i, LocalDate.of(2024, 1, 1 + i % 28), 1, i, 100 - i, i % 7, 10));
+        }
+        when(teamService.getRankingsByGroup(1)).thenReturn(ranking);
+
+        // No Accept header: JSON as before, including the legacy totalMatchPoints field
+        MockHttpServletResponse json = mockMvc.perform(get("/api/team/rankings/1"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].totalMatchPoints").value(100))
+                .andExpect(jsonPath("$[0].registrationDate").value("2024-01-01"))
+                .andReturn().getResponse();
+        MockHttpServletResponse cbor = mockMvc.perform(get("/api/team/rankings/1").accept("application/cbor"))
+                .andExpect(content().contentTypeCompatibleWith("application/cbor"))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")))
+                .andReturn().getResponse();
+        MockHttpServletResponse smile = mockMvc.perform(get("/api/team/rankings/1").accept("application/x-jackson-smile"))
+                .andExpect(content().contentTypeCompatibleWith("application/x-jackson-smile"))
+                .andReturn().getResponse();
+
+        // Same document in every encoding, the binary ones smaller
+        JsonNode expected = new ObjectMapper().readTree(json.getContentAsByteArray());
+        assertEquals(expected, new CBORMapper().readTree(cbor.getContentAsByteArray()));
+        assertEquals(expected, new SmileMapper().readTree(smile.getContentAsByteArray()));
+        assertTrue(cbor.getContentAsByteArray().length < json.getContentAsByteArray().length);
+        assertTrue(smile.getContentAsByteArray().length < json.getContentAsByteArray().length);
+    }
+
+    @Test
+    void testEncodingsHaveTheirOwnETag() throws Exception {
+        Team team = new Team();
+        team.setName("TeamA");
+        team.setGroupNumber(1);
+        when(teamService.getRankingsByGroup(1)).thenReturn(List.of(TeamView.of(TeamSnapshot.of(team))));
+
+        String json = mockMvc.perform(get("/api/team/rankings/1"))
+                .andReturn().getResponse().getHeader("ETag");
+        String cbor = mockMvc.perform(get("/api/team/rankings/1").accept("application/cbor"))
+                .andReturn().getResponse().getHeader("ETag");
+        String smile = mockMvc.perform(get("/api/team/rankings/1").accept("application/x-jackson-smile"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertEquals(3, List.of(json, cbor, smile).stream().distinct().count());
+
+        // The JSON copy is not a valid cached CBOR response
+        mockMvc.perform(get("/api/team/rankings/1").accept("application/cbor").header("If-None-Match", json))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/cbor"))
+                .andExpect(header().string("ETag", cbor));
+        mockMvc.perform(get("/api/team/rankings/1").accept("application/cbor").header("If-None-Match", cbor))
+                .andExpect(status().isNotModified());
+        // A wildcard before CBOR still negotiates CBOR, and the tag follows
+        mockMvc.perform(get("/api/team/rankings/1").header("Accept", "*/*, application/cbor"))
+                .andExpect(content().contentTypeCompatibleWith("application/cbor"))
+                .andExpect(header().string("ETag", cbor));
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.football_championship.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mixed read/write load against the full application on the embedded H2 database in
+ * PostgreSQL mode. Not part of the normal build, run with {@code mvn -Pload test} and tune it
+ * with system properties, e.g. {@code -Dload.clients=32 -Dload.duration-seconds=60}; add
+ * {@code -Dspring.profiles.active=virtual} to compare the virtual-thread mode.
+ * Throughput, latency percentiles and error rates per operation go to a JSON report.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ChampionshipLoadTest {
+
+    private static final String ADD_MATCHES = "addMatches";
+    private static final String RANKINGS = "rankings";
+
+    private final int teams = Integer.getInteger("load.teams", 200);
+    private final int clients = Integer.getInteger("load.clients", 8);
+    private final int durationSeconds = Integer.getInteger("load.duration-seconds", 30);
+    private final int warmupSeconds = Integer.getInteger("load.warmup-seconds", 5);
+    private final int matchesPerRequest = Integer.getInteger("load.matches-per-request", 20);
+    // Percentage of requests that post matches, the rest read rankings
+    private final int writePercent = Integer.getInteger("load.write-percent", 20);
+    private final String reportPath = System.getProperty("load.report", "target/load-report.json");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    private static final class Stats {
+        final List<Long> latencies = new ArrayList<>();
+        long errors;
+
+        void merge(Stats other) {
+            latencies.addAll(other.latencies);
+            errors += other.errors;
+        }
+    }
+
+    @Test
+    void runMixedLoad() throws Exception {
+        seedTeams();
+        runClients(warmupSeconds);
+
+        long start = System.nanoTime();
+        List<Map<String, Stats>> results = runClients(durationSeconds);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Map<String, Stats> merged = new LinkedHashMap<>();
+        merged.put(ADD_MATCHES, new Stats());
+        merged.put(RANKINGS, new Stats());
+        results.forEach(result -> result.forEach((operation, stats) -> merged.get(operation).merge(stats)));
+
+        Map<String, Object> report = report(merged, elapsedSeconds);
+        File file = new File(reportPath);
+        file.getAbsoluteFile().getParentFile().mkdirs();
+        objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+        System.out.println("Load test report written to " + file.getAbsolutePath());
+
+        assertTrue(merged.values().stream().mapToLong(stats -> stats.latencies.size()).sum() > 0);
+    }
+
+    private void seedTeams() throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < teams; i++) {
+            body.append(i == 0 ? "" : ",")
+                    .append("{\"name\":\"").append(teamName(i))
+                    .append("\",\"registrationDate\":\"01/01\",\"groupNumber\":").append(i % 2 + 1).append('}');
+        }
+        body.append(']');
+        HttpResponse<String> response = send(post("/api/team/addTeams", "application/json", body.toString()));
+        assertEquals(200, response.statusCode(), response::body);
+    }
+
+    private List<Map<String, Stats>> runClients(int seconds) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+            List<Future<Map<String, Stats>>> futures = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> runClient(deadline)));
+            }
+            List<Map<String, Stats>> results = new ArrayList<>();
+            for (Future<Map<String, Stats>> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Map<String, Stats> runClient(long deadline) {
+        Map<String, Stats> stats = Map.of(ADD_MATCHES, new Stats(), RANKINGS, new Stats());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            boolean write = random.nextInt(100) < writePercent;
+            HttpRequest request = write
+                    ? post("/api/match/addMatches", "application/json", matchesJson(random))
+                    : HttpRequest.newBuilder(uri("/api/team/rankings/" + (random.nextInt(2) + 1))).GET().build();
+            Stats operation = stats.get(write ? ADD_MATCHES : RANKINGS);
+
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = send(request);
+                // Every generated match is valid, so per-record errors count as failures too
+                if (response.statusCode() != 200 || (write && !response.body().contains("\"errors\":[]"))) {
+                    operation.errors++;
+                }
+            } catch (Exception e) {
+                operation.errors++;
+            }
+            operation.latencies.add(System.nanoTime() - start);
+        }
+        return stats;
+    }
+
+    private String matchesJson(ThreadLocalRandom random) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < matchesPerRequest; i++) {
+            int teamA = random.nextInt(teams);
+            int teamB = (teamA + 1 + random.nextInt(teams - 1)) % teams;
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"teamAName\":\"").append(teamName(teamA))
+                    .append("\",\"teamBName\":\"").append(teamName(teamB))
+                    .append("\",\"teamAGoals\":").append(random.nextInt(5))
+                    .append(",\"teamBGoals\":").append(random.nextInt(5)).append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    private Map<String, Object> report(Map<String, Stats> merged, double elapsedSeconds) {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("teams", teams);
+        config.put("clients", clients);
+        config.put("durationSeconds", durationSeconds);
+        config.put("warmupSeconds", warmupSeconds);
+        config.put("matchesPerRequest", matchesPerRequest);
+        config.put("writePercent", writePercent);
+        config.put("virtualThreads", virtualThreads);
+
+        Map<String, Object> operations = new LinkedHashMap<>();
+        Stats total = new Stats();
+        merged.forEach((operation, stats) -> {
+            operations.put(operation, summary(stats, elapsedSeconds));
+            total.merge(stats);
+        });
+        operations.put("total", summary(total, elapsedSeconds));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config);
+        report.put("elapsedSeconds", elapsedSeconds);
+        report.put("operations", operations);
+        return report;
+    }
+
+    private Map<String, Object> summary(Stats stats, double elapsedSeconds) {
+        long[] sorted = stats.latencies.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("mean", sorted.length == 0 ? 0 : millis(Arrays.stream(sorted).sum() / sorted.length));
+        latency.put("p50", percentile(sorted, 0.50));
+        latency.put("p90", percentile(sorted, 0.90));
+        latency.put("p99", percentile(sorted, 0.99));
+        latency.put("p999", percentile(sorted, 0.999));
+        latency.put("max", sorted.length == 0 ? 0 : millis(sorted[sorted.length - 1]));
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", sorted.length);
+        summary.put("errors", stats.errors);
+        summary.put("errorRate", sorted.length == 0 ? 0 : (double) stats.errors / sorted.length);
+        summary.put("throughputPerSecond", sorted.length / elapsedSeconds);
+        summary.put("latencyMs", latency);
+        return summary;
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return millis(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest post(String path, String contentType, String body) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static String teamName(int index) {
+        return "Load" + index;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.football_championship.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryCountFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testRecordsQueriesPerRequest() throws Exception {
+        DistributionSummary queries = DistributionSummary.builder("championship.http.db.queries")
+                .tags("method", "GET", "uri", "/api/team/getTeam/{teamName}")
+                .register(meterRegistry);
+        long requestsBefore = queries.count();
+        double queriesBefore = queries.totalAmount();
+
+        mockMvc.perform(get("/api/team/getTeam/{teamName}", "Nobody"))
+                .andExpect(status().isNotFound());
+
+        assertEquals(requestsBefore + 1, queries.count());
+        // Unknown teams are not cached, so the lookup goes to the database once
+        assertEquals(queriesBefore + 1, queries.totalAmount());
+    }
+
+    @Test
+    void testServiceTimersAndPoolGauges() throws Exception {
+        mockMvc.perform(get("/api/team/getTeam/{teamName}", "Nobody"));
+
+        assertNotNull(meterRegistry.find("championship.service")
+                .tag("class", "com.example.football_championship.service.TeamService")
+                .tag("method", "getTeamDetails").timer());
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").gauge());
+    }
+}
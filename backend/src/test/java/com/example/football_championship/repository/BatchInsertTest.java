@@ -0,0 +1,87 @@
+package com.example.football_championship.repository;
+
+import com.example.football_championship.config.JpaConfig;
+import com.example.football_championship.model.Match;
+import com.example.football_championship.model.Team;
+import com.example.football_championship.support.StatementCounter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaConfig.class, StatementCounter.Config.class})
+class BatchInsertTest {
+
+    private static final int ROWS = 120;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+
+    @Test
+    void testSaveAllTeamsIsBatched() {
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Team team = new Team();
+            team.setName("Team" + i);
+            team.setRegistrationDate(LocalDate.of(2024, 1, 1));
+            team.setGroupNumber(i % 2 + 1);
+            teams.add(team);
+        }
+
+        statementCounter.reset();
+        teamRepository.saveAll(teams);
+        entityManager.flush();
+
+        assertEquals(expectedRoundTrips(), statementCounter.count("insert into t_team_entity"));
+        // Pooled ids: one sequence call per allocation block, not per row
+        assertTrue(statementCounter.count("select next") <= expectedRoundTrips() + 1);
+    }
+
+    @Test
+    void testSaveAllMatchesIsBatched() {
+        List<Match> matches = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Match match = new Match();
+            match.setTeamA("TeamA");
+            match.setTeamB("TeamB");
+            match.setTeamAScore(i % 3);
+            match.setTeamBScore(1);
+            matches.add(match);
+        }
+
+        statementCounter.reset();
+        matchRepository.saveAll(matches);
+        entityManager.flush();
+
+        assertEquals(expectedRoundTrips(), statementCounter.count("insert into t_match_entity"));
+    }
+
+    private long expectedRoundTrips() {
+        return (ROWS + batchSize - 1) / batchSize;
+    }
+}
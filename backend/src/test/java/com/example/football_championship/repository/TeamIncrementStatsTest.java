@@ -0,0 +1,88 @@
+package com.example.football_championship.repository;
+
+import com.example.football_championship.model.Team;
+import com.example.football_championship.model.TeamSnapshot;
+import com.example.football_championship.model.TeamStatsDelta;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TeamIncrementStatsTest {
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        // Committed rows outlive the test, other tests share the database
+        transactionTemplate.executeWithoutResult(status ->
+                List.of("Inc-A", "Inc-B", "Inc-C").forEach(teamRepository::deleteByName));
+    }
+
+    @Test
+    void testConcurrentIncrementsAddUp() throws Exception {
+        teamRepository.insertIgnoringDuplicates(List.of(team("Inc-A"), team("Inc-B")));
+
+        // Each task commits its own increments, none of them may overwrite another
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            futures.add(executor.submit(() -> transactionTemplate.executeWithoutResult(status ->
+                    teamRepository.incrementStats(Map.of(
+                            "Inc-A", TeamStatsDelta.ofMatch(2, 3, 5),
+                            "Inc-B", TeamStatsDelta.ofMatch(1, 0, 1))))));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        Team teamA = teamRepository.findByName("Inc-A").orElseThrow();
+        assertEquals(80, teamA.getTotalGoals());
+        assertEquals(120, teamA.getMatchPoints());
+        assertEquals(200, teamA.getAlternatePoints());
+        assertEquals(40, teamA.matchesPlayed);
+        assertEquals(40, teamA.version);
+        assertEquals(40, teamRepository.findByName("Inc-B").orElseThrow().getTotalGoals());
+    }
+
+    @Test
+    void testReturnsUpdatedTotalsAndSkipsUnknownNames() {
+        teamRepository.insertIgnoringDuplicates(List.of(team("Inc-C")));
+
+        List<TeamSnapshot> updated = transactionTemplate.execute(status -> teamRepository.incrementStats(Map.of(
+                "Inc-C", new TeamStatsDelta(4, 3, 5, 1),
+                "Inc-Missing", new TeamStatsDelta(1, 1, 1, 1))));
+
+        assertEquals(1, updated.size());
+        assertEquals("Inc-C", updated.get(0).name());
+        assertEquals(4, updated.get(0).totalGoals());
+        assertEquals(1, updated.get(0).matchesPlayed());
+    }
+
+    private Team team(String name) {
+        Team team = new Team();
+        team.setName(name);
+        team.setRegistrationDate(LocalDate.of(2024, 1, 1));
+        team.setGroupNumber(1);
+        return team;
+    }
+}
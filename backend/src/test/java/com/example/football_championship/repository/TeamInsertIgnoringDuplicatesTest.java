@@ -0,0 +1,62 @@
+package com.example.football_championship.repository;
+
+import com.example.football_championship.config.JpaConfig;
+import com.example.football_championship.model.Team;
+import com.example.football_championship.support.StatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaConfig.class, StatementCounter.Config.class})
+class TeamInsertIgnoringDuplicatesTest {
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Test
+    void testSkipsExistingAndRepeatedNames() {
+        teamRepository.insertIgnoringDuplicates(List.of(team("TeamA", 1)));
+
+        statementCounter.reset();
+        List<Team> inserted = teamRepository.insertIgnoringDuplicates(
+                List.of(team("TeamA", 2), team("TeamB", 1), team("TeamB", 2), team("TeamC", 2)));
+
+        assertEquals(List.of("TeamB", "TeamC"), inserted.stream().map(Team::getName).toList());
+        assertTrue(inserted.stream().allMatch(team -> team.id != null));
+        assertEquals(1, statementCounter.getExecuted().size());
+
+        assertEquals(1, teamRepository.findByName("TeamA").get().getGroupNumber());
+        assertEquals(1, teamRepository.findByName("TeamB").get().getGroupNumber());
+        assertEquals(3, teamRepository.count());
+    }
+
+    @Test
+    void testUniqueIndexRejectsDuplicateSave() {
+        teamRepository.saveAndFlush(team("TeamA", 1));
+
+        assertThrows(DataIntegrityViolationException.class, () -> teamRepository.saveAndFlush(team("TeamA", 2)));
+    }
+
+    private Team team(String name, int groupNumber) {
+        Team team = new Team();
+        team.setName(name);
+        team.setRegistrationDate(LocalDate.of(2024, 1, 1));
+        team.setGroupNumber(groupNumber);
+        return team;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.football_championship.repository;
+
+import com.example.football_championship.comparator.TeamRankingComparator;
+import com.example.football_championship.model.RankedTeam;
+import com.example.football_championship.model.Team;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TeamRankTest {
+
+    private static final int GROUP = 91;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Team> teams = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        // Committed rows outlive the test, other tests share the database
+        transactionTemplate.executeWithoutResult(status -> teams.forEach(team -> teamRepository.deleteByName(team.getName())));
+    }
+
+    @Test
+    void testRankMatchesComparatorOrder() {
+        List<Team> expected = insertRandomTeams();
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(i + 1, teamRepository.findRank(expected.get(i).getName(), GROUP).getAsInt());
+        }
+        assertTrue(teamRepository.findRank("Rank-0", GROUP + 1).isEmpty());
+        assertTrue(teamRepository.findRank("Rank-Missing", GROUP).isEmpty());
+    }
+
+    @Test
+    void testAllRankedAgreesWithSingleRank() {
+        List<Team> expected = insertRandomTeams();
+
+        List<RankedTeam> group = teamRepository.findAllRanked().stream()
+                .filter(ranked -> ranked.team().groupNumber() == GROUP)
+                .toList();
+
+        assertEquals(expected.stream().map(Team::getName).toList(), group.stream().map(ranked -> ranked.team().name()).toList());
+        for (RankedTeam ranked : group) {
+            assertEquals(teamRepository.findRank(ranked.team().name(), GROUP).getAsInt(), ranked.rank());
+        }
+    }
+
+    @Test
+    void testNameTieBreakUsesCodePointOrder() {
+        // Tied on everything but the name; a locale collation would put "Rank-a" first and "Rank-Ä" next to it
+        for (String name : List.of("Rank-b", "Rank-Ä", "Rank-a", "Rank-B")) {
+            Team team = new Team();
+            team.setName(name);
+            team.setGroupNumber(GROUP);
+            team.setRegistrationDate(LocalDate.of(2024, 1, 1));
+            teams.add(team);
+        }
+        teamRepository.insertIgnoringDuplicates(teams);
+
+        // String.compareTo order, the one the in-memory standings use
+        List<String> expected = List.of("Rank-B", "Rank-a", "Rank-b", "Rank-Ä");
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(i + 1, teamRepository.findRank(expected.get(i), GROUP).getAsInt());
+        }
+        assertEquals(expected, teamRepository.findAllRanked().stream()
+                .filter(ranked -> ranked.team().groupNumber() == GROUP)
+                .map(ranked -> ranked.team().name())
+                .toList());
+    }
+
+    private List<Team> insertRandomTeams() {
+        // Few distinct values, so most tie-breaks down to the registration date and name get exercised
+        Random random = new Random(11);
+        for (int i = 0; i < 60; i++) {
+            Team team = new Team();
+            team.setName("Rank-" + i);
+            team.setGroupNumber(GROUP);
+            team.setMatchPoints(random.nextInt(3));
+            team.setTotalGoals(random.nextInt(3));
+            team.setAlternatePoints(random.nextInt(2));
+            team.setRegistrationDate(LocalDate.of(2024, 1, 1).plusDays(random.nextInt(3)));
+            teams.add(team);
+        }
+        teamRepository.insertIgnoringDuplicates(teams);
+
+        List<Team> expected = new ArrayList<>(teams);
+        // Names settle full ties, as in the in-memory standings
+        expected.sort(new TeamRankingComparator().thenComparing(Team::getName));
+        return expected;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.football_championship.scoring;
+
+import com.example.football_championship.event.PointSystemAddedEvent;
+import com.example.football_championship.model.PointSystemDefinition;
+import com.example.football_championship.repository.PointSystemDefinitionRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PointSystemRegistryTest {
+
+    private final List<Object> publishedEvents = new ArrayList<>();
+    private final PointSystemDefinitionRepository definitionRepository = mock(PointSystemDefinitionRepository.class);
+
+    @Test
+    void testDefaultSystems() {
+        PointSystemRegistry registry = new PointSystemRegistry(new PointSystemProperties(), definitionRepository, publishedEvents::add);
+
+        // Win, draw and loss for both built-in systems
+        assertEquals(3, registry.getStandard().pointsFor(2, 1));
+        assertEquals(1, registry.getStandard().pointsFor(1, 1));
+        assertEquals(0, registry.getStandard().pointsFor(0, 1));
+        assertEquals(5, registry.getAlternate().pointsFor(2, 1));
+        assertEquals(3, registry.getAlternate().pointsFor(1, 1));
+        assertEquals(1, registry.getAlternate().pointsFor(0, 1));
+    }
+
+    @Test
+    void testUnknownSystem() {
+        PointSystemRegistry registry = new PointSystemRegistry(new PointSystemProperties(), definitionRepository, publishedEvents::add);
+
+        assertThrows(IllegalArgumentException.class, () -> registry.get("UNKNOWN"));
+    }
+
+    @Test
+    void testMissingBuiltInSystem() {
+        PointSystemProperties properties = new PointSystemProperties();
+        properties.setSystems(Map.of("STANDARD", new PointSystemProperties.Rule(3, 1, 0)));
+
+        assertThrows(IllegalStateException.class, () -> new PointSystemRegistry(properties, definitionRepository, publishedEvents::add));
+    }
+
+    @Test
+    void testRegisterTriggersRescoring() {
+        PointSystemRegistry registry = new PointSystemRegistry(new PointSystemProperties(), definitionRepository, publishedEvents::add);
+
+        registry.register(new PointSystem("league", 2, 1, 0));
+
+        assertEquals(2, registry.get("LEAGUE").getWin());
+        assertEquals(1, publishedEvents.size());
+        assertInstanceOf(PointSystemAddedEvent.class, publishedEvents.get(0));
+        assertThrows(IllegalArgumentException.class, () -> registry.register(new PointSystem("LEAGUE", 2, 1, 0)));
+        verify(definitionRepository, times(1)).save(any(PointSystemDefinition.class));
+    }
+
+    @Test
+    void testStoredSystemsAreLoadedAgain() {
+        when(definitionRepository.findAll()).thenReturn(List.of(
+                new PointSystemDefinition("LEAGUE", 2, 1, 0),
+                new PointSystemDefinition("STANDARD", 9, 9, 9)));
+
+        PointSystemRegistry registry = new PointSystemRegistry(new PointSystemProperties(), definitionRepository, publishedEvents::add);
+
+        assertEquals(2, registry.get("league").getWin());
+        // The configured system keeps its points
+        assertEquals(3, registry.getStandard().getWin());
+        registry.scoreConfiguredSystems();
+        assertEquals(1, publishedEvents.size());
+    }
+
+    @Test
+    void testFailedSaveDoesNotRegister() {
+        when(definitionRepository.save(any(PointSystemDefinition.class))).thenThrow(new IllegalStateException("database down"));
+        PointSystemRegistry registry = new PointSystemRegistry(new PointSystemProperties(), definitionRepository, publishedEvents::add);
+
+        assertThrows(IllegalStateException.class, () -> registry.register(new PointSystem("LEAGUE", 2, 1, 0)));
+        assertThrows(IllegalArgumentException.class, () -> registry.get("LEAGUE"));
+        assertTrue(publishedEvents.isEmpty());
+    }
+
+    @Test
+    void testInvalidPoints() {
+        assertThrows(IllegalArgumentException.class, () -> new PointSystem("BROKEN", 1, 3, 0));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.football_championship.scoring;
+
+import com.example.football_championship.DTO.CreateMatchDTO;
+import com.example.football_championship.DTO.CreateTeamDTO;
+import com.example.football_championship.service.MatchService;
+import com.example.football_championship.service.TeamService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RescoringIntegrationTest {
+
+    // Not registered, so no row is left in the point system table
+    private final PointSystem league = new PointSystem("RES-LEAGUE", 2, 1, 0);
+
+    @Autowired
+    private RescoringService rescoringService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        // Committed rows outlive the test, other tests share the database
+        jdbcTemplate.update("delete from t_match_entity where teamaname like 'Res-%'");
+        List.of("Res-A", "Res-B", "Res-C").forEach(teamService::deleteTeamByName);
+    }
+
+    @Test
+    void testTotalsFollowNewMatches() throws InterruptedException {
+        teamService.addTeams(List.of(team("Res-A"), team("Res-B"), team("Res-C")));
+        matchService.addMatch(List.of(match("Res-A", "Res-B", 2, 1), match("Res-A", "Res-C", 0, 0)));
+
+        rescoringService.rescore(league);
+        Map<String, Integer> totals = await(result -> result.totals().containsKey("Res-A"));
+        assertEquals(3, totals.get("Res-A"));
+        assertEquals(0, totals.get("Res-B"));
+        assertEquals(1, totals.get("Res-C"));
+
+        // Stored matches trigger a rerun, nobody has to ask for it
+        matchService.addMatch(List.of(match("Res-C", "Res-B", 1, 0)));
+        totals = await(result -> result.totals().get("Res-C") == 3);
+        assertEquals(0, totals.get("Res-B"));
+    }
+
+    private Map<String, Integer> await(Predicate<RescoringService.Result> done) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            RescoringService.Result result = rescoringService.getResult(league.getName());
+            if (result.status() == RescoringService.Status.COMPLETED && done.test(result)) {
+                return result.totals();
+            }
+            Thread.sleep(50);
+        }
+        return fail("Totals not recomputed: " + rescoringService.getResult(league.getName()));
+    }
+
+    private CreateTeamDTO team(String name) {
+        CreateTeamDTO dto = new CreateTeamDTO();
+        dto.setName(name);
+        dto.setRegistrationDate("01/01");
+        dto.setGroupNumber(1);
+        return dto;
+    }
+
+    private CreateMatchDTO match(String teamA, String teamB, int teamAGoals, int teamBGoals) {
+        CreateMatchDTO dto = new CreateMatchDTO();
+        dto.setTeamA(teamA);
+        dto.setTeamB(teamB);
+        dto.setTeamAScore(teamAGoals);
+        dto.setTeamBScore(teamBGoals);
+        return dto;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.football_championship.scoring;
+
+import com.example.football_championship.event.MatchesAddedEvent;
+import com.example.football_championship.event.TeamChangedEvent;
+import com.example.football_championship.model.TeamSnapshot;
+import com.example.football_championship.repository.TeamRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RescoringServiceTest {
+
+    private final PointSystem league = new PointSystem("LEAGUE", 2, 1, 0);
+    private final PointSystem other = new PointSystem("OTHER", 4, 2, 0);
+    // Tasks are run by the test, so it decides when a job executes
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    @Mock
+    private TeamRepository teamRepository;
+
+    @Mock
+    private AsyncTaskExecutor taskExecutor;
+
+    @InjectMocks
+    private RescoringService rescoringService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        doAnswer(invocation -> tasks.add(invocation.getArgument(0))).when(taskExecutor).execute(any(Runnable.class));
+    }
+
+    @Test
+    void testPublishesTotalsFromDatabase() {
+        when(teamRepository.findPointTotals(league)).thenReturn(Map.of("TeamA", 3, "TeamB", 0));
+
+        rescoringService.rescore(league);
+        assertEquals(RescoringService.Status.RUNNING, rescoringService.getResult("league").status());
+        runTasks();
+
+        RescoringService.Result result = rescoringService.getResult("league");
+        assertEquals(RescoringService.Status.COMPLETED, result.status());
+        assertEquals(Map.of("TeamA", 3, "TeamB", 0), result.totals());
+        assertNotNull(result.completedAt());
+    }
+
+    @Test
+    void testRequestsDuringRunAreFoldedIntoOneRerun() {
+        when(teamRepository.findPointTotals(league)).thenAnswer(invocation -> {
+            // Two more uploads arrive while the first run is still reading
+            rescoringService.onMatchesAdded(new MatchesAddedEvent(1));
+            rescoringService.onMatchesAdded(new MatchesAddedEvent(1));
+            return Map.of("TeamA", 3);
+        }).thenReturn(Map.of("TeamA", 5));
+
+        rescoringService.rescore(league);
+        runTasks();
+
+        // One task, never two runs at once, and the last published totals are the newest
+        verify(taskExecutor, times(1)).execute(any(Runnable.class));
+        verify(teamRepository, times(2)).findPointTotals(league);
+        assertEquals(RescoringService.Status.COMPLETED, rescoringService.getResult("LEAGUE").status());
+        assertEquals(Map.of("TeamA", 5), rescoringService.getResult("LEAGUE").totals());
+    }
+
+    @Test
+    void testChangesRescoreOnlyComputedSystems() {
+        when(teamRepository.findPointTotals(league)).thenReturn(Map.of("TeamA", 3));
+        rescoringService.rescore(league);
+        runTasks();
+
+        rescoringService.onMatchesAdded(new MatchesAddedEvent(2));
+        runTasks();
+        // A results update keeps the team's name and changes nothing beyond its matches
+        rescoringService.onTeamChanged(TeamChangedEvent.saved("TeamA",
+                new TeamSnapshot(1L, "TeamA", LocalDate.of(2024, 1, 1), 1, 2, 3, 5, 1, 1)));
+        rescoringService.onTeamChanged(TeamChangedEvent.deleted("TeamB", 1));
+        runTasks();
+
+        verify(teamRepository, times(3)).findPointTotals(league);
+        verify(teamRepository, never()).findPointTotals(other);
+        assertThrows(NoSuchElementException.class, () -> rescoringService.getResult("OTHER"));
+    }
+
+    @Test
+    void testFailureKeepsPreviousTotals() {
+        when(teamRepository.findPointTotals(league)).thenReturn(Map.of("TeamA", 3)).thenThrow(new IllegalStateException("database down"));
+        rescoringService.rescore(league);
+        runTasks();
+
+        rescoringService.rescore(league);
+        runTasks();
+
+        assertEquals(RescoringService.Status.FAILED, rescoringService.getResult("LEAGUE").status());
+        assertEquals(Map.of("TeamA", 3), rescoringService.getResult("LEAGUE").totals());
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+}
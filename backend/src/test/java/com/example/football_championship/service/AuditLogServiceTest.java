@@ -0,0 +1,82 @@
+package com.example.football_championship.service;
+
+import com.example.football_championship.DTO.CursorPage;
+import com.example.football_championship.audit.AuditLog;
+import com.example.football_championship.config.JpaConfig;
+import com.example.football_championship.repository.AuditLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaConfig.class, AuditLogService.class})
+class AuditLogServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @BeforeEach
+    void setUp() {
+        // Pairs of records share a timestamp, so the id has to break ties in the cursor
+        List<AuditLog> logs = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            AuditLog log = new AuditLog();
+            log.setAction(i % 3 == 0 ? "DELETE" : "GET");
+            log.setEntityName(i % 2 == 0 ? "Team" : "Match");
+            log.setDetails("record " + i);
+            log.setTimestamp(START.plusMinutes(i / 2));
+            logs.add(log);
+        }
+        auditLogRepository.saveAllAndFlush(logs);
+    }
+
+    @Test
+    void testPagesNewestFirstWithoutGapsOrRepeats() {
+        List<AuditLog> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<AuditLog> page = auditLogService.getAuditLogs(START, START.plusHours(1), null, null, cursor, 4);
+            seen.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(30, seen.size());
+        assertEquals(30, seen.stream().map(AuditLog::getId).distinct().count());
+        for (int i = 1; i < seen.size(); i++) {
+            assertFalse(seen.get(i).getTimestamp().isAfter(seen.get(i - 1).getTimestamp()));
+        }
+    }
+
+    @Test
+    void testFiltersByRangeActionAndEntity() {
+        CursorPage<AuditLog> page = auditLogService.getAuditLogs(START.plusMinutes(3), START.plusMinutes(9), "DELETE", "Team", null, 100);
+
+        // Records 6..17 fall in the range; of those 6 and 12 are DELETEs on Team
+        assertEquals(List.of("record 12", "record 6"), page.items().stream().map(AuditLog::getDetails).toList());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void testRejectsInvalidRequests() {
+        assertThrows(IllegalArgumentException.class, () -> auditLogService.getAuditLogs(null, null, null, null, "bogus", 10));
+        assertThrows(IllegalArgumentException.class, () -> auditLogService.getAuditLogs(START, START, null, null, null, 10));
+        assertThrows(IllegalArgumentException.class, () -> auditLogService.getAuditLogs(null, null, null, null, null, 0));
+    }
+}
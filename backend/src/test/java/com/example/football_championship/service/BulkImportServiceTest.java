@@ -0,0 +1,106 @@
+package com.example.football_championship.service;
+
+import com.example.football_championship.DTO.CreateMatchDTO;
+import com.example.football_championship.DTO.CreateTeamDTO;
+import com.example.football_championship.DTO.ImportResult;
+import com.example.football_championship.DTO.ProcessingResult;
+import com.example.football_championship.model.Match;
+import com.example.football_championship.model.Team;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class BulkImportServiceTest {
+
+    @Mock
+    private TeamService teamService;
+
+    @Mock
+    private MatchService matchService;
+
+    private BulkImportService bulkImportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        bulkImportService = new BulkImportService(teamService, matchService, 2);
+    }
+
+    @Test
+    void testImportTeams() throws IOException {
+        List<List<CreateTeamDTO>> chunks = new ArrayList<>();
+        when(teamService.addTeams(anyList())).thenAnswer(invocation -> {
+            List<CreateTeamDTO> chunk = invocation.getArgument(0);
+            chunks.add(new ArrayList<>(chunk));
+            return result(Collections.nCopies(chunk.size(), new Team()), List.of());
+        });
+
+        String sheet = "teamA 17/06 1\n"
+                + "\n"
+                + "teamB,18/06,2\n"
+                + "teamC 19/06\n"
+                + "teamD 20/06 x\n"
+                + "teamE\t21/06  1\n";
+        ImportResult result = bulkImportService.importTeams(reader(sheet));
+
+        // Blank line skipped, two malformed lines reported, the rest saved in chunks of two
+        assertEquals(5, result.getReceived());
+        assertEquals(3, result.getInserted());
+        assertEquals(List.of("Line 4: Expected 3 fields but found 2", "Line 5: Invalid group number: x"), result.getErrors());
+        assertEquals(2, chunks.size());
+        assertEquals("teamB", chunks.get(0).get(1).getName());
+        assertEquals("18/06", chunks.get(0).get(1).getRegistrationDate());
+        assertEquals(2, chunks.get(0).get(1).getGroupNumber());
+        assertEquals(6, chunks.get(1).get(0).getLineNumber());
+    }
+
+    @Test
+    void testImportMatchesKeepsServiceErrors() throws IOException {
+        when(matchService.addMatch(anyList())).thenReturn(result(List.of(new Match()), List.of("Line 2: Error processing match result for teamA and teamA: Duplicate team name")));
+
+        ImportResult result = bulkImportService.importMatches(reader("teamA teamB 0 1\nteamA teamA 1 1\nteamA teamB 0 1 2\n"));
+
+        ArgumentCaptor<List<CreateMatchDTO>> captor = ArgumentCaptor.forClass(List.class);
+        verify(matchService, times(1)).addMatch(captor.capture());
+        assertEquals(3, result.getReceived());
+        assertEquals(1, result.getInserted());
+        assertEquals(2, result.getErrors().size());
+        assertTrue(result.getErrors().get(0).startsWith("Line 2:"));
+        assertEquals("Line 3: Expected 4 fields but found more", result.getErrors().get(1));
+    }
+
+    @Test
+    void testErrorsInLineOrder() throws IOException {
+        when(matchService.addMatch(anyList())).thenReturn(result(List.of(), List.of("Line 1: Error processing match result for teamA and teamA: Duplicate team name")));
+
+        // Line 1 fails in the service after line 2 has already failed to parse
+        ImportResult result = bulkImportService.importMatches(reader("teamA teamA 1 1\nteamA teamB x 1\n"));
+
+        assertEquals(List.of("Line 1: Error processing match result for teamA and teamA: Duplicate team name",
+                "Line 2: Invalid team A goals: x"), result.getErrors());
+    }
+
+    private BufferedReader reader(String text) {
+        return new BufferedReader(new StringReader(text));
+    }
+
+    private <T> ProcessingResult<T> result(List<T> valid, List<String> errors) {
+        ProcessingResult<T> result = new ProcessingResult<>();
+        result.setValidData(valid);
+        result.setErrors(errors);
+        return result;
+    }
+}
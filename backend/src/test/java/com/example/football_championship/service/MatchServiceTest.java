@@ -1,22 +1,32 @@
 package com.example.football_championship.service;
 
+import com.example.football_championship.audit.AuditLogWriter;
 import com.example.football_championship.DTO.CreateMatchDTO;
 import com.example.football_championship.DTO.ProcessingResult;
-import com.example.football_championship.DTO.UpdateTeamDTO;
+import com.example.football_championship.event.MatchesAddedEvent;
+import com.example.football_championship.metrics.IngestMetrics;
 import com.example.football_championship.model.Match;
-import com.example.football_championship.model.Team;
-import com.example.football_championship.repository.AuditLogRepository;
+import com.example.football_championship.model.TeamStatsDelta;
 import com.example.football_championship.repository.MatchRepository;
+import com.example.football_championship.repository.PointSystemDefinitionRepository;
+import com.example.football_championship.scoring.PointSystemProperties;
+import com.example.football_championship.scoring.PointSystemRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -26,11 +36,22 @@ class MatchServiceTest {
     private MatchRepository matchRepository;
 
     @Mock
-    private AuditLogRepository auditLogRepository;
+    private AuditLogWriter auditLogWriter;
 
     @Mock
     private TeamService teamService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private PointSystemRegistry pointSystemRegistry = new PointSystemRegistry(new PointSystemProperties(), mock(PointSystemDefinitionRepository.class), event -> { });
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private IngestMetrics ingestMetrics = new IngestMetrics(meterRegistry);
+
     @InjectMocks
     private MatchService matchService;
 
@@ -50,25 +71,22 @@ class MatchServiceTest {
 
         List<CreateMatchDTO> matchDTOList = Arrays.asList(matchDTO1);
 
-        // Prepare mock Team objects
-        Team teamA = new Team();
-        teamA.setName("TeamA");
-        Team teamB = new Team();
-        teamB.setName("TeamB");
-
         // Mock behaviors of teamService and matchRepository
-        when(teamService.getTeamDetails("TeamA")).thenReturn(teamA);
-        when(teamService.getTeamDetails("TeamB")).thenReturn(teamB);
+        when(teamService.getExistingNames(anyCollection())).thenReturn(Set.of("TeamA", "TeamB"));
         when(matchRepository.save(any(Match.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Call the method under test
         ProcessingResult<Match> result = matchService.addMatch(matchDTOList);
 
-        // Verify that teamService.updateTeamDetails was called for both teams
-        verify(teamService, times(2)).updateTeamDetails(any(), any(UpdateTeamDTO.class));
+        // Verify that the teams were resolved once and the result applied to both
+        verify(teamService, times(1)).getExistingNames(anyCollection());
+        verify(teamService, times(1)).incrementStats(Map.of(
+                "TeamA", new TeamStatsDelta(2, 3, 5, 1),
+                "TeamB", new TeamStatsDelta(1, 0, 1, 1)));
 
         // Verify that matchRepository.save was called
         verify(matchRepository, times(1)).saveAll(anyList());
+        verify(eventPublisher, times(1)).publishEvent(new MatchesAddedEvent(1));
 
         // Validate the result
         assertEquals(1, result.getValidData().size());
@@ -78,6 +96,31 @@ class MatchServiceTest {
         assertEquals(1, result.getValidData().get(0).getTeamBScore());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAddMatch_DeltasInNameOrder() {
+        CreateMatchDTO matchDTO1 = new CreateMatchDTO();
+        matchDTO1.setTeamA("TeamC");
+        matchDTO1.setTeamB("TeamB");
+        matchDTO1.setTeamAScore(1);
+        matchDTO1.setTeamBScore(1);
+
+        CreateMatchDTO matchDTO2 = new CreateMatchDTO();
+        matchDTO2.setTeamA("TeamB");
+        matchDTO2.setTeamB("TeamA");
+        matchDTO2.setTeamAScore(0);
+        matchDTO2.setTeamBScore(3);
+
+        when(teamService.getExistingNames(anyCollection())).thenReturn(Set.of("TeamA", "TeamB", "TeamC"));
+
+        matchService.addMatch(Arrays.asList(matchDTO1, matchDTO2));
+
+        // Rows are locked in this order, whatever order the results came in
+        ArgumentCaptor<Map<String, TeamStatsDelta>> deltas = ArgumentCaptor.forClass(Map.class);
+        verify(teamService).incrementStats(deltas.capture());
+        assertEquals(List.of("TeamA", "TeamB", "TeamC"), List.copyOf(deltas.getValue().keySet()));
+    }
+
     @Test
     void testAddMatch_InvalidScores() {
         // Prepare input data with invalid score
@@ -96,4 +139,58 @@ class MatchServiceTest {
         assertEquals(1, result.getErrors().size());
         assertEquals(0, result.getValidData().size());
     }
+
+    @Test
+    void testAddMatch_UnknownTeam() {
+        // Prepare input data referencing a team that is not registered
+        CreateMatchDTO matchDTO1 = new CreateMatchDTO();
+        matchDTO1.setTeamA("TeamA");
+        matchDTO1.setTeamB("TeamB");
+        matchDTO1.setTeamAScore(2);
+        matchDTO1.setTeamBScore(1);
+
+        CreateMatchDTO matchDTO2 = new CreateMatchDTO();
+        matchDTO2.setTeamA("TeamA");
+        matchDTO2.setTeamB("TeamC");
+        matchDTO2.setTeamAScore(0);
+        matchDTO2.setTeamBScore(0);
+
+        List<CreateMatchDTO> matchDTOList = Arrays.asList(matchDTO1, matchDTO2);
+
+
+        when(teamService.getExistingNames(anyCollection())).thenReturn(Set.of("TeamA", "TeamB"));
+
+        ProcessingResult<Match> result = matchService.addMatch(matchDTOList);
+
+        // The unknown team only fails its own match
+        assertEquals(1, result.getValidData().size());
+        assertEquals(1, result.getErrors().size());
+        verify(teamService, times(1)).incrementStats(Map.of(
+                "TeamA", new TeamStatsDelta(2, 3, 5, 1),
+                "TeamB", new TeamStatsDelta(1, 0, 1, 1)));
+
+        assertEquals(1, meterRegistry.counter("championship.ingest.validation.errors", "type", "match", "reason", "UNKNOWN_TEAM").count());
+        assertEquals(2, meterRegistry.summary("championship.ingest.batch.size", "type", "match").totalAmount());
+        // One derived sample for the batch, not one per record
+        assertEquals(1, meterRegistry.summary("championship.ingest.batch.time.per.record", "type", "match").count());
+    }
+
+    @Test
+    void testAddMatch_MissingTeam() {
+        CreateMatchDTO matchDTO1 = new CreateMatchDTO();
+        matchDTO1.setTeamB("TeamB");
+        matchDTO1.setTeamAScore(2);
+        matchDTO1.setTeamBScore(1);
+        matchDTO1.setLineNumber(3);
+
+        when(teamService.getExistingNames(anyCollection())).thenReturn(Set.of());
+
+        ProcessingResult<Match> result = matchService.addMatch(List.of(matchDTO1));
+
+        // Reported against its line instead of failing the whole batch
+        assertEquals(0, result.getValidData().size());
+        assertEquals(List.of("Line 3: Error processing match result for null and TeamB: Both team names are required"), result.getErrors());
+        verify(teamService, never()).incrementStats(any());
+        assertEquals(1, meterRegistry.counter("championship.ingest.validation.errors", "type", "match", "reason", "MISSING_TEAM").count());
+    }
 }
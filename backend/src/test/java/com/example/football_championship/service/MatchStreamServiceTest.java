@@ -0,0 +1,121 @@
+package com.example.football_championship.service;
+
+import com.example.football_championship.DTO.CreateMatchDTO;
+import com.example.football_championship.DTO.ProcessingResult;
+import com.example.football_championship.model.Match;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class MatchStreamServiceTest {
+
+    private static final String UPLOAD = String.join("\n",
+            "{\"teamAName\":\"TeamA\",\"teamBName\":\"TeamB\",\"teamAGoals\":1,\"teamBGoals\":0}",
+            "{\"teamAName\":\"TeamC\",\"teamBName\":",
+            "",
+            "{\"teamAName\":\"TeamC\",\"teamBName\":\"TeamD\",\"teamAGoals\":2,\"teamBGoals\":2}",
+            "{\"teamAName\":\"TeamA\",\"teamBName\":\"TeamA\",\"teamAGoals\":0,\"teamBGoals\":0}");
+
+    @Mock
+    private MatchService matchService;
+
+    private final List<Integer> chunkSizes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // Accept every match except a missing team or a team playing itself, like the real service
+        when(matchService.addMatch(anyList())).thenAnswer(invocation -> {
+            List<CreateMatchDTO> chunk = invocation.getArgument(0);
+            chunkSizes.add(chunk.size());
+            ProcessingResult<Match> result = new ProcessingResult<>();
+            List<Match> valid = new ArrayList<>();
+            List<String> errors = new ArrayList<>();
+            for (CreateMatchDTO dto : chunk) {
+                if (dto.getTeamA() == null || dto.getTeamB() == null) {
+                    errors.add("Line " + dto.getLineNumber() + ": Both team names are required");
+                } else if (dto.getTeamA().equals(dto.getTeamB())) {
+                    errors.add("Line " + dto.getLineNumber() + ": Duplicate team name");
+                } else {
+                    Match match = new Match();
+                    match.setTeamA(dto.getTeamA());
+                    match.setTeamB(dto.getTeamB());
+                    valid.add(match);
+                }
+            }
+            result.setValidData(valid);
+            result.setErrors(errors);
+            return result;
+        });
+    }
+
+    @Test
+    void testIngestInChunks() throws IOException {
+        MatchStreamService service = new MatchStreamService(matchService, new ObjectMapper(), 2);
+
+        List<String> lines = ingest(service, false);
+
+        // Two chunks: lines 1 and 4, then line 5 on its own
+        assertEquals(List.of(2, 1), chunkSizes);
+        assertEquals(5, lines.size());
+        assertTrue(lines.get(0).contains("Line 2: Malformed record"));
+        assertTrue(lines.get(1).contains("\"teamA\":\"TeamA\""));
+        assertTrue(lines.get(2).contains("\"teamA\":\"TeamC\""));
+        assertTrue(lines.get(3).contains("Line 5: Duplicate team name"));
+        assertEquals("{\"received\":4,\"inserted\":2,\"failed\":2}", lines.get(4));
+    }
+
+    @Test
+    void testSummaryOnly() throws IOException {
+        MatchStreamService service = new MatchStreamService(matchService, new ObjectMapper(), 500);
+
+        List<String> lines = ingest(service, true);
+
+        assertEquals(List.of(3), chunkSizes);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).contains("Line 2"));
+        assertTrue(lines.get(1).contains("Line 5"));
+        assertEquals("{\"received\":4,\"inserted\":2,\"failed\":2}", lines.get(2));
+    }
+
+    @Test
+    void testNullRecordsAreLineErrors() throws IOException {
+        MatchStreamService service = new MatchStreamService(matchService, new ObjectMapper(), 500);
+        String upload = String.join("\n",
+                "null",
+                "{\"teamBName\":\"TeamB\",\"teamAGoals\":1,\"teamBGoals\":0}",
+                "{\"teamAName\":\"TeamA\",\"teamBName\":\"TeamB\",\"teamAGoals\":1,\"teamBGoals\":0}");
+
+        List<String> lines = ingest(service, upload, true);
+
+        // Neither record stops the stream, the valid line after them is still processed
+        assertEquals(List.of(2), chunkSizes);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).contains("Line 1: Malformed record"));
+        assertTrue(lines.get(1).contains("Line 2: Both team names are required"));
+        assertEquals("{\"received\":3,\"inserted\":1,\"failed\":2}", lines.get(2));
+    }
+
+    private List<String> ingest(MatchStreamService service, boolean summaryOnly) throws IOException {
+        return ingest(service, UPLOAD, summaryOnly);
+    }
+
+    private List<String> ingest(MatchStreamService service, String upload, boolean summaryOnly) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.ingest(new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)), output, summaryOnly);
+        return output.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+}
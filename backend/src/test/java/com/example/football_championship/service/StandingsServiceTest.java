@@ -0,0 +1,155 @@
+package com.example.football_championship.service;
+
+import com.example.football_championship.comparator.TeamRankingComparator;
+import com.example.football_championship.event.TeamChangedEvent;
+import com.example.football_championship.model.Team;
+import com.example.football_championship.model.TeamSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StandingsServiceTest {
+
+    private StandingsService standingsService;
+
+    @BeforeEach
+    void setUp() {
+        standingsService = new StandingsService();
+        standingsService.rebuild(Arrays.asList(
+                team("TeamA", 1, 6, 3, LocalDate.of(2024, 1, 1)),
+                team("TeamB", 1, 6, 5, LocalDate.of(2024, 1, 2)),
+                team("TeamC", 1, 1, 1, LocalDate.of(2024, 1, 3)),
+                team("TeamD", 2, 0, 0, LocalDate.of(2024, 1, 4))));
+    }
+
+    @Test
+    void testRankingFollowsTieBreakChain() {
+        List<TeamSnapshot> ranking = standingsService.getRanking(1);
+
+        // TeamB ties TeamA on points but has scored more goals
+        assertEquals(List.of("TeamB", "TeamA", "TeamC"), ranking.stream().map(TeamSnapshot::name).toList());
+        assertEquals(1, standingsService.getRank("TeamB").getAsInt());
+        assertEquals(1, standingsService.getRank("TeamD").getAsInt());
+        assertTrue(standingsService.getRank("Unknown").isEmpty());
+    }
+
+    @Test
+    void testMatchUpdateMovesTeam() {
+        Team teamC = team("TeamC", 1, 7, 4, LocalDate.of(2024, 1, 3));
+        standingsService.onTeamChanged(TeamChangedEvent.saved("TeamC", TeamSnapshot.of(teamC)));
+
+        assertEquals("TeamC", standingsService.getTopTeams(1, 1).get(0).name());
+        assertEquals(3, standingsService.getRank("TeamA").getAsInt());
+        assertEquals(3, standingsService.getRanking(1).size());
+    }
+
+    @Test
+    void testRenameAndDelete() {
+        Team renamed = team("TeamZ", 2, 6, 3, LocalDate.of(2024, 1, 1));
+        standingsService.onTeamChanged(TeamChangedEvent.saved("TeamA", 1, TeamSnapshot.of(renamed)));
+        standingsService.onTeamChanged(TeamChangedEvent.deleted("TeamC", 1));
+
+        assertTrue(standingsService.getRank("TeamA").isEmpty());
+        assertEquals(List.of("TeamB"), standingsService.getRanking(1).stream().map(TeamSnapshot::name).toList());
+        assertEquals("TeamZ", standingsService.getTopTeams(2, 4).get(0).name());
+        assertTrue(standingsService.qualifies("TeamZ", 2, 1));
+        assertFalse(standingsService.qualifies("TeamZ", 1, 4));
+    }
+
+    @Test
+    void testMatchesFullSortOnRandomUpdates() {
+        Random random = new Random(42);
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            teams.add(team("Team" + i, 1, random.nextInt(10), random.nextInt(10), LocalDate.of(2024, 1, 1).plusDays(random.nextInt(30))));
+        }
+        standingsService.rebuild(teams);
+
+        for (int i = 0; i < 500; i++) {
+            Team team = teams.get(random.nextInt(teams.size()));
+            team.setMatchPoints(team.getMatchPoints() + random.nextInt(4));
+            team.setTotalGoals(team.getTotalGoals() + random.nextInt(3));
+            standingsService.onTeamChanged(TeamChangedEvent.saved(team.getName(), TeamSnapshot.of(team)));
+        }
+
+        List<Team> expected = new ArrayList<>(teams);
+        expected.sort(new TeamRankingComparator());
+        List<TeamSnapshot> actual = standingsService.getRanking(1);
+        for (int i = 0; i < expected.size(); i++) {
+            // Teams tied on every key may be in either order, so compare the keys
+            assertEquals(0, new TeamRankingComparator().compare(expected.get(i), actual.get(i).toTeam()));
+            assertEquals(i + 1, standingsService.getRank(actual.get(i).name()).getAsInt());
+        }
+    }
+
+    @Test
+    void testRankingAfterWalksTheWholeGroup() {
+        Random random = new Random(7);
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            teams.add(team("Team" + i, 1, random.nextInt(10), random.nextInt(10), LocalDate.of(2024, 1, 1).plusDays(random.nextInt(30))));
+        }
+        standingsService.rebuild(teams);
+
+        List<TeamSnapshot> pages = new ArrayList<>();
+        List<TeamSnapshot> page = standingsService.getRankingAfter(1, null, 7);
+        while (!page.isEmpty()) {
+            pages.addAll(page);
+            page = standingsService.getRankingAfter(1, page.get(page.size() - 1), 7);
+        }
+
+        assertEquals(standingsService.getRanking(1), pages);
+    }
+
+    @Test
+    void testRankingAfterCursorOfMovedTeam() {
+        List<TeamSnapshot> firstPage = standingsService.getRankingAfter(1, null, 1);
+        assertEquals("TeamB", firstPage.get(0).name());
+
+        // TeamB drops to the bottom; the next page still starts where its old keys were
+        Team teamB = team("TeamB", 1, 0, 0, LocalDate.of(2024, 1, 2));
+        standingsService.onTeamChanged(TeamChangedEvent.saved("TeamB", TeamSnapshot.of(teamB)));
+
+        List<String> rest = standingsService.getRankingAfter(1, firstPage.get(0), 10).stream().map(TeamSnapshot::name).toList();
+        assertEquals(List.of("TeamA", "TeamC", "TeamB"), rest);
+    }
+
+    @Test
+    void testOutOfOrderEventsKeepTheNewerTotals() {
+        Team teamC = team("TeamC", 1, 1, 1, LocalDate.of(2024, 1, 3));
+        teamC.id = 3L;
+        teamC.version = 0L;
+        standingsService.rebuild(List.of(teamC));
+
+        // Version 2 (7 points) committed after version 1 (4 points), but its event is delivered first
+        TeamSnapshot first = new TeamSnapshot(3L, "TeamC", LocalDate.of(2024, 1, 3), 1, 2, 4, 0, 1, 1);
+        TeamSnapshot second = new TeamSnapshot(3L, "TeamC", LocalDate.of(2024, 1, 3), 1, 3, 7, 0, 2, 2);
+        standingsService.onTeamChanged(TeamChangedEvent.saved("TeamC", second));
+        standingsService.onTeamChanged(TeamChangedEvent.saved("TeamC", first));
+
+        assertEquals(List.of(second), standingsService.getRanking(1));
+
+        // A late update for a team that has since been deleted does not bring it back
+        standingsService.onTeamChanged(TeamChangedEvent.deleted("TeamC", 1));
+        standingsService.onTeamChanged(TeamChangedEvent.saved("TeamC", new TeamSnapshot(3L, "TeamC",
+                LocalDate.of(2024, 1, 3), 1, 4, 8, 0, 3, 3)));
+        assertTrue(standingsService.getRank("TeamC").isEmpty());
+    }
+
+    private Team team(String name, int groupNumber, int matchPoints, int totalGoals, LocalDate registrationDate) {
+        Team team = new Team();
+        team.setName(name);
+        team.setGroupNumber(groupNumber);
+        team.setMatchPoints(matchPoints);
+        team.setTotalGoals(totalGoals);
+        team.setRegistrationDate(registrationDate);
+        return team;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.football_championship.service;
+
+import com.example.football_championship.DTO.CreateMatchDTO;
+import com.example.football_championship.DTO.CreateTeamDTO;
+import com.example.football_championship.DTO.UpdateTeamDTO;
+import com.example.football_championship.model.TeamSnapshot;
+import com.example.football_championship.model.TeamStatsDrift;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StandingsVerificationServiceTest {
+
+    @Autowired
+    private StandingsVerificationService standingsVerificationService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private StandingsService standingsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        // Committed rows outlive the test, other tests share the database
+        jdbcTemplate.update("delete from t_match_entity where teamaname like 'Ver-%'");
+        jdbcTemplate.queryForList("select name from t_team_entity where name like 'Ver-%'", String.class)
+                .forEach(teamService::deleteTeamByName);
+    }
+
+    @Test
+    void testDetectsAndRepairsDrift() {
+        teamService.addTeams(List.of(team("Ver-A"), team("Ver-B"), team("Ver-C")));
+        matchService.addMatch(List.of(match("Ver-A", "Ver-B", 2, 1), match("Ver-A", "Ver-B", 0, 0)));
+        assertTrue(drifts(standingsVerificationService.verify(false)).isEmpty());
+
+        // A wrong manual edit and a delta with no match behind it
+        UpdateTeamDTO edit = new UpdateTeamDTO();
+        edit.setTeamName("Ver-A");
+        edit.setTotalGoals(99);
+        teamService.updateTeamDetails("EDIT", edit);
+        UpdateTeamDTO update = new UpdateTeamDTO();
+        update.setTeamName("Ver-C");
+        update.setMatchPoints(3);
+        teamService.updateTeamDetails("UPDATE", update);
+
+        Map<String, TeamStatsDrift> drifts = drifts(standingsVerificationService.verify(false));
+        assertEquals(List.of("Ver-A", "Ver-C"), drifts.keySet().stream().sorted().toList());
+        assertEquals(99, drifts.get("Ver-A").stored().totalGoals());
+        // 2-1 win and 0-0 draw: 3 + 1 standard points, 5 + 3 alternate points
+        assertEquals(new TeamSnapshot(drifts.get("Ver-A").stored().id(), "Ver-A", drifts.get("Ver-A").stored().registrationDate(), 1, 2, 4, 8, 2,
+                        drifts.get("Ver-A").stored().version() + 1),
+                drifts.get("Ver-A").expected());
+        assertEquals(0, drifts.get("Ver-C").expected().matchPoints());
+
+        StandingsVerificationService.Report repair = standingsVerificationService.verify(true);
+        assertTrue(repair.repaired() >= 2);
+        assertTrue(drifts(standingsVerificationService.verify(false)).isEmpty());
+        assertEquals(2, teamService.getTeamDetails("Ver-A").totalGoals());
+        assertEquals(0, standingsService.getRanking(1).stream()
+                .filter(team -> team.name().equals("Ver-C")).findFirst().orElseThrow().matchPoints());
+    }
+
+    @Test
+    void testRenameIsNotDrift() {
+        teamService.addTeams(List.of(team("Ver-A"), team("Ver-B")));
+        matchService.addMatch(List.of(match("Ver-A", "Ver-B", 2, 1)));
+
+        UpdateTeamDTO rename = new UpdateTeamDTO();
+        rename.setTeamName("Ver-A");
+        rename.setNewName("Ver-D");
+        teamService.updateTeamDetails("EDIT", rename);
+
+        // The match moved with the team, so a repair has nothing to zero
+        assertTrue(drifts(standingsVerificationService.verify(true)).isEmpty());
+        assertEquals(3, teamService.getTeamDetails("Ver-D").matchPoints());
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from t_match_entity where teamaname = 'Ver-D'", Integer.class));
+    }
+
+    private Map<String, TeamStatsDrift> drifts(StandingsVerificationService.Report report) {
+        // Other tests leave their own teams behind, only ours are checked
+        return report.drifts().stream()
+                .filter(drift -> drift.stored().name().startsWith("Ver-"))
+                .collect(Collectors.toMap(drift -> drift.stored().name(), drift -> drift));
+    }
+
+    private CreateTeamDTO team(String name) {
+        CreateTeamDTO dto = new CreateTeamDTO();
+        dto.setName(name);
+        dto.setRegistrationDate("01/01");
+        dto.setGroupNumber(1);
+        return dto;
+    }
+
+    private CreateMatchDTO match(String teamA, String teamB, int teamAGoals, int teamBGoals) {
+        CreateMatchDTO dto = new CreateMatchDTO();
+        dto.setTeamA(teamA);
+        dto.setTeamB(teamB);
+        dto.setTeamAScore(teamAGoals);
+        dto.setTeamBScore(teamBGoals);
+        return dto;
+    }
+}
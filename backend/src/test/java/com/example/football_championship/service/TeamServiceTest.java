@@ -1,22 +1,42 @@
 package com.example.football_championship.service;
 
+import com.example.football_championship.audit.AuditLogWriter;
+import com.example.football_championship.cache.TeamCache;
 import com.example.football_championship.DTO.CreateTeamDTO;
+import com.example.football_championship.DTO.CursorPage;
+import com.example.football_championship.DTO.GroupStandings;
 import com.example.football_championship.DTO.ProcessingResult;
+import com.example.football_championship.DTO.TeamStanding;
+import com.example.football_championship.DTO.TeamView;
 import com.example.football_championship.DTO.UpdateTeamDTO;
+import com.example.football_championship.metrics.IngestMetrics;
+import com.example.football_championship.model.RankedTeam;
 import com.example.football_championship.model.Team;
-import com.example.football_championship.repository.AuditLogRepository;
+import com.example.football_championship.model.TeamSnapshot;
+import com.example.football_championship.model.TeamStatsDelta;
+import com.example.football_championship.repository.MatchRepository;
 import com.example.football_championship.repository.TeamRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.OptionalInt;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -27,7 +47,28 @@ class TeamServiceTest {
     private TeamRepository teamRepository;
 
     @Mock
-    private AuditLogRepository auditLogRepository;
+    private AuditLogWriter auditLogWriter;
+
+    @Mock
+    private MatchRepository matchRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private StandingsService standingsService = new StandingsService();
+
+    @Spy
+    private TeamCache teamCache = new TeamCache(new SimpleMeterRegistry(), 100, 60_000);
+
+    @Spy
+    private IngestMetrics ingestMetrics = new IngestMetrics(new SimpleMeterRegistry());
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate();
 
     @InjectMocks
     private TeamService teamService;
@@ -35,6 +76,7 @@ class TeamServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        transactionTemplate.setTransactionManager(transactionManager);
     }
 
     @Test
@@ -52,25 +94,15 @@ class TeamServiceTest {
 
         List<CreateTeamDTO> teamDTOList = Arrays.asList(teamDTO1, teamDTO2);
 
-        // Prepare mock team objects
-        Team teamA = new Team();
-        teamA.setName("TeamA");
-        teamA.setRegistrationDate(LocalDate.of(2024, 1, 1));
-        teamA.setGroupNumber(1);
-
-        Team teamB = new Team();
-        teamB.setName("TeamB");
-        teamB.setRegistrationDate(LocalDate.of(2024, 1, 2));
-        teamB.setGroupNumber(1);
-
-        // Mock repository behavior
-        when(teamRepository.saveAll(anyList())).thenReturn(Arrays.asList(teamA, teamB));
+        // Mock repository behavior: every team is new
+        when(teamRepository.insertIgnoringDuplicates(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Call the method under test
         ProcessingResult result = teamService.addTeams(teamDTOList);
 
-        // Verify that the teams were saved
-        verify(teamRepository, times(1)).saveAll(anyList());
+        // Verify that the teams were saved in one insert, without a lookup per name
+        verify(teamRepository, times(1)).insertIgnoringDuplicates(anyList());
+        verify(teamRepository, never()).findByName(anyString());
 
         // Validate result
         assertEquals(2, result.getValidData().size());
@@ -92,31 +124,78 @@ class TeamServiceTest {
 
         List<CreateTeamDTO> teamDTOList = Arrays.asList(teamDTO1, teamDTO2);
 
-        // Prepare mock team objects
-        Team teamA = new Team();
-        teamA.setName("TeamA");
-        teamA.setRegistrationDate(LocalDate.of(2024, 1, 1));
-        teamA.setGroupNumber(1);
-
-        Team teamB = new Team();
-        teamB.setName("TeamB");
-        teamB.setRegistrationDate(LocalDate.of(2024, 1, 2));
-        teamB.setGroupNumber(1);
-
-        // Mock repository behavior
-        when(teamRepository.saveAll(anyList())).thenReturn(Arrays.asList(teamA));
+        // Mock repository behavior: every team is new
+        when(teamRepository.insertIgnoringDuplicates(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Call the method under test
         ProcessingResult result = teamService.addTeams(teamDTOList);
 
-        // Verify that the teams were saved
-        verify(teamRepository, times(1)).saveAll(anyList());
+        // Verify that the teams were saved in one insert, without a lookup per name
+        verify(teamRepository, times(1)).insertIgnoringDuplicates(anyList());
+        verify(teamRepository, never()).findByName(anyString());
 
         // Validate result
         assertEquals(1, result.getValidData().size());
         assertEquals(1, result.getErrors().size());
     }
 
+    @Test
+    void testAddTeams_DuplicateName() {
+        CreateTeamDTO teamDTO1 = new CreateTeamDTO();
+        teamDTO1.setName("TeamA");
+        teamDTO1.setRegistrationDate("01/01");
+        teamDTO1.setGroupNumber(1);
+        teamDTO1.setLineNumber(1);
+
+        CreateTeamDTO teamDTO2 = new CreateTeamDTO();
+        teamDTO2.setName("TeamB");
+        teamDTO2.setRegistrationDate("02/01");
+        teamDTO2.setGroupNumber(2);
+        teamDTO2.setLineNumber(2);
+
+        // TeamB is already in the table, so the insert skips it
+        when(teamRepository.insertIgnoringDuplicates(anyList())).thenAnswer(invocation -> {
+            List<Team> teams = invocation.getArgument(0);
+            return teams.subList(0, 1);
+        });
+
+        ProcessingResult result = teamService.addTeams(Arrays.asList(teamDTO1, teamDTO2));
+
+        assertEquals(1, result.getValidData().size());
+        assertEquals(List.of("Line 2: Error processing team for TeamB: Team name already exists"), result.getErrors());
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testAddTeams_LargeBatchKeepsErrorOrder() {
+        // Above the parallel threshold, with errors from every stage spread through the batch
+        List<CreateTeamDTO> teamDTOs = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            CreateTeamDTO dto = new CreateTeamDTO();
+            dto.setName(i % 100 == 50 ? "Team" + (i - 1) : "Team" + i);
+            dto.setRegistrationDate(i % 100 == 10 ? "31/02" : "01/01");
+            dto.setGroupNumber(i % 100 == 20 ? 3 : 1);
+            dto.setLineNumber(i + 1);
+            teamDTOs.add(dto);
+        }
+
+        // Every Team?30 is already in the table
+        when(teamRepository.insertIgnoringDuplicates(anyList())).thenAnswer(invocation -> {
+            List<Team> teams = invocation.getArgument(0);
+            return teams.stream().filter(team -> !team.getName().endsWith("30")).toList();
+        });
+
+        ProcessingResult result = teamService.addTeams(teamDTOs);
+
+        List<String> errors = result.getErrors();
+        assertEquals(120, errors.size());
+        List<Integer> lines = errors.stream().map(error -> Integer.parseInt(error.substring(5, error.indexOf(':')))).toList();
+        assertEquals(lines.stream().sorted().toList(), lines);
+        assertEquals("Line 31: Error processing team for Team30: Team name already exists", errors.get(2));
+        assertEquals("Line 51: Error processing team for Team49: Team name already exists", errors.get(3));
+        assertEquals(2880, result.getValidData().size());
+    }
+
 
     @Test
     void testGetTeamDetails_Success() {
@@ -125,24 +204,40 @@ class TeamServiceTest {
         team.setName("TeamA");
 
         // Mock repository behavior
-        when(teamRepository.findByName("TeamA")).thenReturn(Optional.of(team));
+        when(teamRepository.findSnapshotByName("TeamA")).thenReturn(Optional.of(TeamSnapshot.of(team)));
 
         // Call the method under test
-        Team result = teamService.getTeamDetails("TeamA");
+        TeamView result = teamService.getTeamDetails("TeamA");
 
         // Verify result
-        assertEquals("TeamA", result.getName());
-        verify(teamRepository, times(1)).findByName("TeamA");
+        assertEquals("TeamA", result.name());
+        verify(teamRepository, times(1)).findSnapshotByName("TeamA");
+        verify(teamRepository, never()).findByName("TeamA");
+    }
+
+    @Test
+    void testGetTeamDetails_ServedFromCache() {
+        Team team = new Team();
+        team.setName("TeamA");
+        when(teamRepository.findSnapshotByName("TeamA")).thenReturn(Optional.of(TeamSnapshot.of(team)));
+
+        TeamView first = teamService.getTeamDetails("TeamA");
+        TeamView second = teamService.getTeamDetails("TeamA");
+
+        // Immutable views, so sharing the cached values is safe
+        assertEquals(first, second);
+        assertEquals("TeamA", second.name());
+        verify(teamRepository, times(1)).findSnapshotByName("TeamA");
     }
 
     @Test
     void testGetTeamDetails_TeamNotFound() {
         // Mock repository behavior for missing team
-        when(teamRepository.findByName("TeamA")).thenReturn(Optional.empty());
+        when(teamRepository.findSnapshotByName("TeamA")).thenReturn(Optional.empty());
 
         // Test exception
         assertThrows(NoSuchElementException.class, () -> teamService.getTeamDetails("TeamA"));
-        verify(teamRepository, times(1)).findByName("TeamA");
+        verify(teamRepository, times(1)).findSnapshotByName("TeamA");
     }
 
     @Test
@@ -190,7 +285,7 @@ class TeamServiceTest {
 
         // Mock repository behavior
         when(teamRepository.findByName("TeamA")).thenReturn(Optional.of(existingTeam));
-        when(teamRepository.save(any(Team.class))).thenReturn(existingTeam);
+        when(teamRepository.saveAndFlush(any(Team.class))).thenReturn(existingTeam);
 
         // Call the method under test
         Team result = teamService.updateTeamDetails("EDIT", updateDTO);
@@ -198,7 +293,101 @@ class TeamServiceTest {
         // Verify the update was successful
         assertEquals("TeamA New", result.getName());
         assertEquals(3, result.getTotalGoals());
-        verify(teamRepository, times(1)).save(existingTeam);
+        verify(teamRepository, times(1)).saveAndFlush(existingTeam);
+        // The matches follow the new name
+        verify(matchRepository, times(1)).renameTeam("TeamA", "TeamA New");
+    }
+
+    @Test
+    void testUpdateTeamDetails_AddsStatsInSql() {
+        Team existingTeam = new Team();
+        existingTeam.setName("TeamA");
+        existingTeam.setGroupNumber(1);
+
+        UpdateTeamDTO updateDTO = new UpdateTeamDTO();
+        updateDTO.setTeamName("TeamA");
+        updateDTO.setTotalGoals(2);
+        updateDTO.setMatchPoints(3);
+
+        when(teamRepository.findByName("TeamA")).thenReturn(Optional.of(existingTeam));
+        when(teamRepository.incrementStats(anyMap())).thenReturn(List.of(
+                new TeamSnapshot(1L, "TeamA", LocalDate.of(2024, 1, 1), 1, 7, 9, 0, 3, 1)));
+
+        Team result = teamService.updateTeamDetails("UPDATE", updateDTO);
+
+        // The deltas go to the database as they are, never added to a value read earlier
+        verify(teamRepository, times(1)).incrementStats(Map.of("TeamA", new TeamStatsDelta(2, 3, 0, 0)));
+        assertEquals(7, result.getTotalGoals());
+        assertEquals(9, result.getMatchPoints());
+    }
+
+    @Test
+    void testUpdateTeamDetails_RetriesOnVersionConflict() {
+        Team existingTeam = new Team();
+        existingTeam.setName("TeamA");
+
+        UpdateTeamDTO updateDTO = new UpdateTeamDTO();
+        updateDTO.setTeamName("TeamA");
+        updateDTO.setTotalGoals(3);
+
+        when(teamRepository.findByName("TeamA")).thenReturn(Optional.of(existingTeam));
+        when(teamRepository.saveAndFlush(any(Team.class))).thenReturn(existingTeam);
+        // Another request wins the first commit
+        doThrow(new ObjectOptimisticLockingFailureException(Team.class, 1L)).doNothing().when(transactionManager).commit(any());
+
+        Team result = teamService.updateTeamDetails("EDIT", updateDTO);
+
+        assertEquals(3, result.getTotalGoals());
+        verify(teamRepository, times(2)).saveAndFlush(existingTeam);
+    }
+
+    @Test
+    void testUpdateTeamDetails_GivesUpAfterMaxAttempts() {
+        Team existingTeam = new Team();
+        existingTeam.setName("TeamA");
+
+        UpdateTeamDTO updateDTO = new UpdateTeamDTO();
+        updateDTO.setTeamName("TeamA");
+        updateDTO.setTotalGoals(3);
+
+        when(teamRepository.findByName("TeamA")).thenReturn(Optional.of(existingTeam));
+        when(teamRepository.saveAndFlush(any(Team.class))).thenReturn(existingTeam);
+        doThrow(new ObjectOptimisticLockingFailureException(Team.class, 1L)).when(transactionManager).commit(any());
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> teamService.updateTeamDetails("EDIT", updateDTO));
+        verify(teamRepository, times(3)).saveAndFlush(existingTeam);
+    }
+
+    @Test
+    void testUpdateTeamDetails_RenameConflictIsNotReportedAsNotFound() {
+        Team existingTeam = new Team();
+        existingTeam.setName("TeamA");
+
+        UpdateTeamDTO updateDTO = new UpdateTeamDTO();
+        updateDTO.setTeamName("TeamA");
+        updateDTO.setNewName("TeamB");
+
+        when(teamRepository.findByName("TeamA")).thenReturn(Optional.of(existingTeam));
+        // Another request took the name between the check and the flush
+        when(teamRepository.saveAndFlush(any(Team.class))).thenThrow(new DataIntegrityViolationException("ux_team_name"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> teamService.updateTeamDetails("UPDATE", updateDTO));
+        verify(teamRepository, never()).incrementStats(anyMap());
+    }
+
+    @Test
+    void testUpdateTeamDetails_TeamDeletedMeanwhile() {
+        Team existingTeam = new Team();
+        existingTeam.setName("TeamA");
+
+        UpdateTeamDTO updateDTO = new UpdateTeamDTO();
+        updateDTO.setTeamName("TeamA");
+        updateDTO.setTotalGoals(1);
+
+        when(teamRepository.findByName("TeamA")).thenReturn(Optional.of(existingTeam));
+        when(teamRepository.incrementStats(anyMap())).thenReturn(List.of());
+
+        assertThrows(NoSuchElementException.class, () -> teamService.updateTeamDetails("UPDATE", updateDTO));
     }
 
     @Test
@@ -206,23 +395,51 @@ class TeamServiceTest {
         // Prepare mock teams list
         Team teamA = new Team();
         teamA.setName("TeamA");
+        teamA.setGroupNumber(1);
         teamA.setMatchPoints(10);
 
         Team teamB = new Team();
         teamB.setName("TeamB");
+        teamB.setGroupNumber(1);
         teamA.setMatchPoints(5);
 
         List<Team> teams = Arrays.asList(teamA, teamB);
 
-        // Mock repository behavior
-        when(teamRepository.findByGroupNumber(1)).thenReturn(Optional.of(teams));
+        // Load the in-memory standings
+        standingsService.rebuild(teams);
 
         // Call the method under test
-        List<Team> result = teamService.getRankingsByGroup(1);
+        List<TeamView> result = teamService.getRankingsByGroup(1);
 
-        // Verify the rankings
+        // Verify the rankings are served without touching the database
         assertEquals(2, result.size());
-        verify(teamRepository, times(1)).findByGroupNumber(1);
+        assertEquals("TeamA", result.get(0).name());
+        verify(teamRepository, never()).findByGroupNumber(1);
+    }
+
+    @Test
+    void testGetRankingPage_FollowsCursor() {
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Team team = new Team();
+            team.setName("Team" + i);
+            team.setGroupNumber(1);
+            team.setMatchPoints(10 - i);
+            team.setRegistrationDate(LocalDate.of(2024, 1, 1));
+            teams.add(team);
+        }
+        standingsService.rebuild(teams);
+
+        CursorPage<TeamView> first = teamService.getRankingPage(1, null, 2);
+        CursorPage<TeamView> second = teamService.getRankingPage(1, first.nextCursor(), 2);
+        CursorPage<TeamView> last = teamService.getRankingPage(1, second.nextCursor(), 2);
+
+        assertEquals(List.of("Team0", "Team1"), first.items().stream().map(TeamView::name).toList());
+        assertEquals(List.of("Team2", "Team3"), second.items().stream().map(TeamView::name).toList());
+        assertEquals(List.of("Team4"), last.items().stream().map(TeamView::name).toList());
+        assertNull(last.nextCursor());
+        assertThrows(IllegalArgumentException.class, () -> teamService.getRankingPage(1, "not-a-cursor", 2));
+        assertThrows(IllegalArgumentException.class, () -> teamService.getRankingPage(1, null, 0));
     }
 
     @Test
@@ -230,21 +447,23 @@ class TeamServiceTest {
         // Prepare mock teams list
         Team teamA = new Team();
         teamA.setName("TeamA");
+        teamA.setGroupNumber(1);
         teamA.setMatchPoints(10);
         Team teamB = new Team();
         teamB.setName("TeamB");
+        teamB.setGroupNumber(1);
         teamB.setMatchPoints(5);
 
         List<Team> teams = Arrays.asList(teamA, teamB);
 
-        // Mock repository behavior
-        when(teamRepository.findByGroupNumber(1)).thenReturn(Optional.of(teams));
+        // Load the in-memory standings
+        standingsService.rebuild(teams);
 
         // Call the method under test and verify outcome
         boolean outcome = teamService.getOutcomeForTeam("TeamA", 1);
         assertTrue(outcome);
 
-        verify(teamRepository, times(1)).findByGroupNumber(1);
+        verify(teamRepository, never()).findByGroupNumber(1);
     }
 
     @Test
@@ -252,36 +471,81 @@ class TeamServiceTest {
         // Prepare mock teams list
         Team teamA = new Team();
         teamA.setName("TeamA");
+        teamA.setGroupNumber(1);
         teamA.setMatchPoints(10);
 
         Team teamB = new Team();
         teamB.setName("TeamB");
+        teamB.setGroupNumber(1);
         teamB.setMatchPoints(5);
 
         Team teamC = new Team();
         teamC.setName("teamC");
+        teamC.setGroupNumber(1);
         teamC.setMatchPoints(5);
 
         Team teamD = new Team();
         teamD.setName("teamD");
+        teamD.setGroupNumber(1);
         teamD.setMatchPoints(3);
         teamD.setTotalGoals(4);
 
         Team teamE = new Team();
         teamE.setName("teamE");
+        teamE.setGroupNumber(1);
         teamE.setMatchPoints(3);
         teamE.setTotalGoals(10);
 
 
         List<Team> teams = Arrays.asList(teamA, teamB);
 
-        // Mock repository behavior
-        when(teamRepository.findByGroupNumber(1)).thenReturn(Optional.of(teams));
+        // Load the in-memory standings
+        standingsService.rebuild(teams);
 
         // Call the method under test and verify outcome
         boolean outcome = teamService.getOutcomeForTeam("teamD", 1);
         assertFalse(outcome);
 
-        verify(teamRepository, times(1)).findByGroupNumber(1);
+        verify(teamRepository, never()).findByGroupNumber(1);
+    }
+
+    @Test
+    void testGetStanding_AppliesCutoffToSqlRank() {
+        when(teamRepository.findRank("TeamE", 1)).thenReturn(OptionalInt.of(5));
+        when(teamRepository.findRank("TeamD", 1)).thenReturn(OptionalInt.of(4));
+
+        TeamStanding standing = teamService.getStanding("TeamE", 1);
+
+        assertEquals(5, standing.rank());
+        assertFalse(standing.qualified());
+        assertTrue(teamService.getStanding("TeamD", 1).qualified());
+        // Answered by the rank query alone, the group is never loaded
+        verify(teamRepository, never()).findByGroupNumber(anyInt());
+    }
+
+    @Test
+    void testGetTournamentStandings_SplitsGroupsAndMarksQualifiers() {
+        List<RankedTeam> rows = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            rows.add(new RankedTeam(new TeamSnapshot((long) i, "G1-" + i, LocalDate.of(2024, 1, 1), 1, 0, 10 - i, 0, 0, 0), i));
+        }
+        rows.add(new RankedTeam(new TeamSnapshot(6L, "G2-1", LocalDate.of(2024, 1, 1), 2, 0, 1, 0, 0, 0), 1));
+        when(teamRepository.findAllRanked()).thenReturn(rows);
+
+        List<GroupStandings> standings = teamService.getTournamentStandings();
+
+        assertEquals(2, standings.size());
+        assertEquals(1, standings.get(0).groupNumber());
+        assertEquals(5, standings.get(0).teams().size());
+        assertEquals(List.of("G1-1", "G1-2", "G1-3", "G1-4"), standings.get(0).qualifiers());
+        assertEquals(List.of("G2-1"), standings.get(1).qualifiers());
+        verify(teamRepository, times(1)).findAllRanked();
+    }
+
+    @Test
+    void testGetStanding_UnknownTeam() {
+        when(teamRepository.findRank("TeamX", 1)).thenReturn(OptionalInt.empty());
+
+        assertThrows(NoSuchElementException.class, () -> teamService.getStanding("TeamX", 1));
     }
 }
@@ -0,0 +1,175 @@
+package com.example.football_championship.standings;
+
+import com.example.football_championship.DTO.StandingsDelta;
+import com.example.football_championship.event.TeamChangedEvent;
+import com.example.football_championship.model.TeamSnapshot;
+import com.example.football_championship.service.StandingsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StandingsStreamTest {
+
+    private final StandingsService standingsService = new StandingsService();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private StandingsStream stream;
+    private long nextId = 1;
+
+    @BeforeEach
+    void setUp() {
+        standingsService.rebuild(List.of());
+        stream = new StandingsStream(standingsService, meterRegistry, 4, 60_000, 2, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.close();
+    }
+
+    @Test
+    void testDeliversNewRankToMatchingSubscribers() throws Exception {
+        RecordingEmitter groupOne = new RecordingEmitter(null);
+        RecordingEmitter groupTwo = new RecordingEmitter(null);
+        RecordingEmitter everyGroup = new RecordingEmitter(null);
+        stream.subscribe(1, groupOne);
+        stream.subscribe(2, groupTwo);
+        stream.subscribe(null, everyGroup);
+
+        change(TeamChangedEvent.saved(null, team("TeamA", 1, 3)));
+        assertEquals(new StandingsDelta("TeamA", 1, 3, 0, 0, 1, 1), groupOne.next());
+        assertEquals("TeamA", everyGroup.next().team());
+
+        // TeamB overtakes TeamA, both get their new rank
+        change(TeamChangedEvent.saved(null, team("TeamB", 1, 6)));
+        assertEquals(new StandingsDelta("TeamB", 1, 6, 0, 0, 1, 1), groupOne.next());
+        assertEquals(new StandingsDelta("TeamA", 1, 3, 0, 0, 1, 2), groupOne.next());
+        assertEquals(List.of("TeamB", "TeamA"), List.of(everyGroup.next().team(), everyGroup.next().team()));
+
+        // Renamed: the old name is removed, the new one arrives with its rank
+        change(TeamChangedEvent.saved("TeamA", team("TeamC", 1, 9)));
+        assertEquals(StandingsDelta.removed("TeamA", 1), groupOne.next());
+        assertEquals(new StandingsDelta("TeamC", 1, 9, 0, 0, 1, 1), groupOne.next());
+        assertEquals(new StandingsDelta("TeamB", 1, 6, 0, 0, 1, 2), groupOne.next());
+        assertEquals(List.of("TeamA", "TeamC", "TeamB"),
+                List.of(everyGroup.next().team(), everyGroup.next().team(), everyGroup.next().team()));
+
+        change(TeamChangedEvent.saved(null, team("TeamD", 2, 0)));
+        assertEquals("TeamD", groupTwo.next().team());
+        assertEquals(3, stream.getSubscriberCount());
+    }
+
+    @Test
+    void testSlowSubscriberIsEvicted() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter(null);
+        stream.subscribe(null, slow);
+        stream.subscribe(null, fast);
+
+        // The slow client is stuck on its first send; its queue of four overflows before the sixth delta
+        for (int i = 0; i < 6; i++) {
+            // Each new team ranks last, so it is the only delta
+            change(TeamChangedEvent.saved(null, team("Team" + i, 1, 10 - i)));
+            assertEquals("Team" + i, fast.next().team());
+        }
+
+        assertTrue(slow.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(1, stream.getSubscriberCount());
+        assertEquals(1, meterRegistry.counter("championship.stream.evicted").count());
+        release.countDown();
+    }
+
+    @Test
+    void testMatchUpdatesBothSidesAndOvertakenTeams() throws Exception {
+        RecordingEmitter groupOne = new RecordingEmitter(null);
+        stream.subscribe(1, groupOne);
+        TeamSnapshot teamA = team("TeamA", 1, 4);
+        TeamSnapshot teamB = team("TeamB", 1, 3);
+        TeamSnapshot teamC = team("TeamC", 1, 2);
+        change(TeamChangedEvent.saved(null, teamA));
+        change(TeamChangedEvent.saved(null, teamB));
+        change(TeamChangedEvent.saved(null, teamC));
+        for (int i = 0; i < 3; i++) {
+            groupOne.next();
+        }
+
+        // One committed match, TeamC beats TeamA: both events reach the standings before the stream
+        TeamChangedEvent winner = TeamChangedEvent.saved("TeamC", withPoints(teamC, 5));
+        TeamChangedEvent loser = TeamChangedEvent.saved("TeamA", withPoints(teamA, 4));
+        standingsService.onTeamChanged(winner);
+        standingsService.onTeamChanged(loser);
+        stream.onTeamChanged(winner);
+        stream.onTeamChanged(loser);
+
+        // TeamB was overtaken without being part of the match
+        assertEquals(new StandingsDelta("TeamC", 1, 5, 0, 0, 2, 1), groupOne.next());
+        assertEquals(new StandingsDelta("TeamA", 1, 4, 0, 0, 2, 2), groupOne.next());
+        assertEquals(new StandingsDelta("TeamB", 1, 3, 0, 0, 1, 3), groupOne.next());
+        // The second event finds nothing new to send
+        assertNull(groupOne.received.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    private TeamSnapshot withPoints(TeamSnapshot team, int matchPoints) {
+        return new TeamSnapshot(team.id(), team.name(), team.registrationDate(), team.groupNumber(), team.totalGoals(),
+                matchPoints, team.alternatePoints(), team.matchesPlayed() + 1, team.version() + 1);
+    }
+
+    private void change(TeamChangedEvent event) {
+        // Same order as the transactional listeners: standings first, then the stream
+        standingsService.onTeamChanged(event);
+        stream.onTeamChanged(event);
+    }
+
+    private TeamSnapshot team(String name, int groupNumber, int matchPoints) {
+        return new TeamSnapshot(nextId++, name, LocalDate.of(2024, 1, 1), groupNumber, 0, matchPoints, 0, 1, 0);
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<StandingsDelta> received = new LinkedBlockingQueue<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+            builder.build().stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .filter(StandingsDelta.class::isInstance)
+                    .forEach(data -> received.add((StandingsDelta) data));
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed.countDown();
+        }
+
+        StandingsDelta next() throws InterruptedException {
+            StandingsDelta delta = received.poll(5, TimeUnit.SECONDS);
+            assertNotNull(delta, "No delta delivered");
+            return delta;
+        }
+    }
+}
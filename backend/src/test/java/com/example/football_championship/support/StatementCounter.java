@@ -0,0 +1,121 @@
+package com.example.football_championship.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Wraps the application DataSource and records every JDBC round trip: each
+ * execute/executeQuery/executeUpdate call and each executeBatch call counts once,
+ * however many rows a batch carries.
+ */
+public class StatementCounter {
+
+    private final List<String> executed = new CopyOnWriteArrayList<>();
+    private volatile Thread onlyThread;
+
+    public void reset() {
+        onlyThread = null;
+        executed.clear();
+    }
+
+    /**
+     * Clears the recorded statements and from now on only records those run by the calling
+     * thread, leaving out background work such as the audit writer's flushes.
+     */
+    public void resetForCurrentThread() {
+        onlyThread = Thread.currentThread();
+        executed.clear();
+    }
+
+    /**
+     * Round trips whose SQL starts with the given prefix, compared case-insensitively.
+     */
+    public long count(String sqlPrefix) {
+        String prefix = sqlPrefix.toLowerCase(Locale.ROOT);
+        return executed.stream().filter(sql -> sql.startsWith(prefix)).count();
+    }
+
+    public List<String> getExecuted() {
+        return List.copyOf(executed);
+    }
+
+    DataSource wrap(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection connection ? wrap(connection) : result;
+        });
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Statement statement) {
+                // prepareStatement/prepareCall carry their SQL up front, createStatement gets it per execute
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return wrap(statement, sql, method.getReturnType());
+            }
+            return result;
+        });
+    }
+
+    private Statement wrap(Statement statement, String preparedSql, Class<?> type) {
+        return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                if (sql != null && (onlyThread == null || onlyThread == Thread.currentThread())) {
+                    executed.add(sql.strip().toLowerCase(Locale.ROOT));
+                }
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private interface Handler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(Class<T> type, T target, Handler handler) {
+        return (T) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> handler.handle(target, method, args));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @TestConfiguration
+    public static class Config {
+
+        @Bean
+        public StatementCounter statementCounter() {
+            return new StatementCounter();
+        }
+
+        @Bean
+        public static BeanPostProcessor statementCountingDataSource(org.springframework.beans.factory.ObjectProvider<StatementCounter> counter) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? counter.getObject().wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.football_championship.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchValidatorTest {
+
+    @Test
+    void testOutcomesKeepInputOrder() {
+        List<Integer> inputs = IntStream.range(0, 10_000).boxed().toList();
+
+        List<BatchValidator.Outcome<String>> outcomes = BatchValidator.validate(inputs, value -> {
+            if (value % 7 == 0) {
+                throw new IllegalArgumentException("multiple of 7: " + value);
+            }
+            return "v" + value;
+        }, 100);
+
+        assertEquals(inputs.size(), outcomes.size());
+        for (int i = 0; i < outcomes.size(); i++) {
+            BatchValidator.Outcome<String> outcome = outcomes.get(i);
+            assertEquals(i, outcome.index());
+            if (i % 7 == 0) {
+                assertFalse(outcome.isValid());
+                assertEquals("multiple of 7: " + i, outcome.error().getMessage());
+            } else {
+                assertEquals("v" + i, outcome.value());
+            }
+        }
+    }
+
+    @Test
+    void testSmallBatchStaysOnCallerThread() {
+        Thread caller = Thread.currentThread();
+
+        List<BatchValidator.Outcome<Thread>> outcomes = BatchValidator.validate(List.of(1, 2, 3), value -> Thread.currentThread(), 1000);
+
+        assertTrue(outcomes.stream().allMatch(outcome -> outcome.value() == caller));
+    }
+}